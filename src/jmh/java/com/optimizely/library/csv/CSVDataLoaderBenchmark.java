@@ -0,0 +1,86 @@
+package com.optimizely.library.csv;
+
+import com.optimizely.library.csv.generator.CatalogueGenerator;
+import com.optimizely.library.csv.mappers.AuthorMapper;
+import com.optimizely.library.csv.mappers.BookMapper;
+import com.optimizely.library.csv.mappers.MagazineMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link CSVDataLoader#csvToObjects} reads a whole synthetic file into a list through the header-name mappers.
+ */
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CSVDataLoaderBenchmark {
+    @Param({"book", "magazine", "author"})
+    String type;
+
+    @Param({"10000", "100000"})
+    int rows;
+
+    private final CSVDataLoader csvDataLoader = new CSVDataLoader();
+    private Path directory;
+    private Resource resource;
+    private Function<Map<String, String>, ?> mapper;
+
+    /**
+     * The author file has as many rows as the others, every book and magazine has up to three of those authors.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("catalogue");
+        new CatalogueGenerator(rows, 3, 1.0, 42).writeFiles(directory, rows, rows);
+        switch (type) {
+            case "book" -> {
+                resource = new FileSystemResource(directory.resolve(CatalogueGenerator.BOOKS_FILE));
+                mapper = new BookMapper();
+            }
+            case "magazine" -> {
+                resource = new FileSystemResource(directory.resolve(CatalogueGenerator.MAGAZINES_FILE));
+                mapper = new MagazineMapper();
+            }
+            default -> {
+                resource = new FileSystemResource(directory.resolve(CatalogueGenerator.AUTHORS_FILE));
+                mapper = new AuthorMapper();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<? extends List<?>> csvToObjects() {
+        return csvDataLoader.csvToObjects(resource, mapper);
+    }
+}
@@ -0,0 +1,149 @@
+package com.optimizely.library.csv.mappers;
+
+import com.optimizely.library.csv.CSVDataLoader;
+import com.optimizely.library.csv.generator.CatalogueGenerator;
+import com.optimizely.library.model.Book;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Compares the header-name based {@code Function<Map<String, String>, T>} path with the index based
+ * {@link CsvRecordMapper} path, per record for each of the three mappers and end to end over a synthetic 1M row
+ * book file.
+ */
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class MapperBenchmark {
+    private static final int SAMPLE_RECORDS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Records {
+        @Param({"book", "magazine", "author"})
+        String type;
+        List<CSVRecord> records;
+        Function<Map<String, String>, ?> headerNameMapper;
+        Function<CSVRecord, ?> columnIndexMapper;
+
+        @Setup
+        public void setUp() throws IOException {
+            StringBuilder csv = new StringBuilder();
+            CatalogueGenerator generator = new CatalogueGenerator(SAMPLE_RECORDS, 3, 1.0, 42);
+            switch (type) {
+                case "book" -> generator.writeBooks(csv, SAMPLE_RECORDS);
+                case "magazine" -> generator.writeMagazines(csv, SAMPLE_RECORDS);
+                default -> generator.writeAuthors(csv);
+            }
+            try (CSVParser csvParser = new CSVParser(new StringReader(csv.toString()), format())) {
+                records = csvParser.getRecords();
+                switch (type) {
+                    case "book" -> {
+                        headerNameMapper = new BookMapper();
+                        columnIndexMapper = new BookMapper().forHeader(csvParser.getHeaderMap());
+                    }
+                    case "magazine" -> {
+                        headerNameMapper = new MagazineMapper();
+                        columnIndexMapper = new MagazineMapper().forHeader(csvParser.getHeaderMap());
+                    }
+                    default -> {
+                        headerNameMapper = new AuthorMapper();
+                        columnIndexMapper = new AuthorMapper().forHeader(csvParser.getHeaderMap());
+                    }
+                }
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class File {
+        @Param("1000000")
+        int rows;
+        Path directory;
+        Resource resource;
+        CSVDataLoader csvDataLoader = new CSVDataLoader();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("catalogue");
+            new CatalogueGenerator(500, 2, 1.0, 42).writeFiles(directory, rows, 0);
+            resource = new FileSystemResource(directory.resolve(CatalogueGenerator.BOOKS_FILE));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(SAMPLE_RECORDS)
+    public void recordByHeaderName(Records state, Blackhole blackhole) {
+        for (CSVRecord csvRecord : state.records) {
+            blackhole.consume(state.headerNameMapper.apply(csvRecord.toMap()));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(SAMPLE_RECORDS)
+    public void recordByColumnIndex(Records state, Blackhole blackhole) {
+        for (CSVRecord csvRecord : state.records) {
+            blackhole.consume(state.columnIndexMapper.apply(csvRecord));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fileByHeaderName(File state, Blackhole blackhole) throws IOException {
+        BookMapper mapper = new BookMapper();
+        try (Stream<Book> books = state.csvDataLoader.csvToStream(state.resource, headerMap -> csvRecord -> mapper.apply(csvRecord.toMap()))) {
+            books.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fileByColumnIndex(File state, Blackhole blackhole) throws IOException {
+        try (Stream<Book> books = state.csvDataLoader.csvToStream(state.resource, new BookMapper())) {
+            books.forEach(blackhole::consume);
+        }
+    }
+
+    private static CSVFormat format() {
+        return CSVFormat.newFormat(';').withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim();
+    }
+}
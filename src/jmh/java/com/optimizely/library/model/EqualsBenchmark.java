@@ -0,0 +1,78 @@
+package com.optimizely.library.model;
+
+import com.optimizely.library.csv.generator.CatalogueGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Book#equals} and {@link Magazine#equals} compare ISBNs; the copies are separate instances with equal
+ * ISBN strings, as they are when read back from Mongo, and the others differ only in the last ISBN digit.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EqualsBenchmark {
+    private Book book;
+    private Book bookCopy;
+    private Book otherBook;
+    private Magazine magazine;
+    private Magazine magazineCopy;
+    private Magazine otherMagazine;
+
+    @Setup
+    public void setUp() {
+        CatalogueGenerator generator = new CatalogueGenerator(10, 3, 1.0, 42);
+        List<Book> books = generator.books(2).toList();
+        List<Magazine> magazines = generator.magazines(2).toList();
+        book = books.get(0);
+        bookCopy = new Book(book.getTitle(), new String(book.getIsbn()), book.getAuthors(), book.getDescription());
+        otherBook = books.get(1);
+        magazine = magazines.get(0);
+        magazineCopy = new Magazine(magazine.getTitle(), new String(magazine.getIsbn()), magazine.getAuthors(), magazine.getPublicationDate());
+        otherMagazine = magazines.get(1);
+    }
+
+    @Benchmark
+    public boolean sameBook() {
+        return book.equals(book);
+    }
+
+    @Benchmark
+    public boolean equalBook() {
+        return book.equals(bookCopy);
+    }
+
+    @Benchmark
+    public boolean differentBook() {
+        return book.equals(otherBook);
+    }
+
+    @Benchmark
+    public boolean sameMagazine() {
+        return magazine.equals(magazine);
+    }
+
+    @Benchmark
+    public boolean equalMagazine() {
+        return magazine.equals(magazineCopy);
+    }
+
+    @Benchmark
+    public boolean differentMagazine() {
+        return magazine.equals(otherMagazine);
+    }
+}
@@ -0,0 +1,56 @@
+package com.optimizely.library.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimizely.library.csv.generator.CatalogueGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises the lists returned by {@code GET /books} and {@code GET /magazines} with an {@link ObjectMapper} built
+ * the way Spring MVC builds its own.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"100", "10000"})
+    int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Book> books;
+    private List<Magazine> magazines;
+
+    @Setup
+    public void setUp() {
+        CatalogueGenerator generator = new CatalogueGenerator(10_000, 3, 1.0, 42);
+        books = generator.books(size).toList();
+        magazines = generator.magazines(size).toList();
+    }
+
+    @Benchmark
+    public byte[] books() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] magazines() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(magazines);
+    }
+}
@@ -1,11 +1,13 @@
 package com.optimizely.library;
 
+import com.github.cloudyrock.spring.v5.EnableMongock;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import springfox.documentation.swagger2.annotations.EnableSwagger2;
+import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
-@EnableSwagger2
+@EnableMongock
+@EnableCaching
 public class LibraryApplication {
 
 
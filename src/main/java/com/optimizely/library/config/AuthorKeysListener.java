@@ -0,0 +1,30 @@
+package com.optimizely.library.config;
+
+import com.optimizely.library.model.AuthorKeys;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Magazine;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maintains {@link AuthorKeys#FIELD} on every insert, save and bulk write of books and magazines.
+ */
+@Component
+public class AuthorKeysListener extends AbstractMongoEventListener<Object> {
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Object> event) {
+        List<String> authors = null;
+        if (event.getSource() instanceof Book book) {
+            authors = book.getAuthors();
+        } else if (event.getSource() instanceof Magazine magazine) {
+            authors = magazine.getAuthors();
+        }
+        if (authors != null && event.getDocument() != null) {
+            event.getDocument().put(AuthorKeys.FIELD, AuthorKeys.of(authors));
+        }
+    }
+}
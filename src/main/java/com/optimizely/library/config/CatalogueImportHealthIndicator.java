@@ -0,0 +1,45 @@
+package com.optimizely.library.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the readiness group out of service until {@link LibraryDataLoader} has imported every CSV file, and down
+ * once the import of any of them failed.
+ */
+@Component
+public class CatalogueImportHealthIndicator implements HealthIndicator {
+    static final String IMPORTING = "importing";
+    static final String IMPORTED = "imported";
+    static final String FAILED = "failed";
+
+    private final Map<String, String> collections = new ConcurrentHashMap<>();
+    private volatile boolean completed;
+
+    void started(String collection) {
+        collections.put(collection, IMPORTING);
+    }
+
+    void finished(String collection, String state) {
+        collections.put(collection, state);
+    }
+
+    void completed() {
+        completed = true;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health;
+        if (collections.containsValue(FAILED)) {
+            health = Health.down();
+        } else {
+            health = completed ? Health.up() : Health.outOfService();
+        }
+        return health.withDetails(collections).build();
+    }
+}
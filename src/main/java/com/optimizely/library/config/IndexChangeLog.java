@@ -0,0 +1,103 @@
+package com.optimizely.library.config;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.AuthorKeys;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Collations;
+import com.optimizely.library.model.ImportFingerprint;
+import com.optimizely.library.model.Magazine;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+@ChangeLog(order = "001")
+public class IndexChangeLog {
+
+    /**
+     * Backs the sort-by-title queries, ISBN breaks ties so pages are stable and the whole sort is served by the index.
+     */
+    @ChangeSet(order = "001", id = "titleIndexes", author = "library")
+    public void createTitleIndexes(MongockTemplate mongoTemplate) {
+        for (Class<?> type : List.of(Book.class, Magazine.class)) {
+            mongoTemplate.indexOps(type).ensureIndex(new Index()
+                    .on("title", Sort.Direction.ASC)
+                    .on("isbn", Sort.Direction.ASC)
+                    .named("title_isbn_de")
+                    .collation(Collations.GERMAN));
+        }
+    }
+
+    /**
+     * Creates the indexes declared with {@code @Indexed} and {@code @TextIndexed} on the documents. Runs on every
+     * start, so indexes declared later are in place before traffic without a new change set; ensureIndex is a no-op
+     * for existing ones.
+     */
+    @ChangeSet(order = "002", id = "declaredIndexes", author = "library", runAlways = true)
+    public void ensureDeclaredIndexes(MongockTemplate mongoTemplate) {
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        IndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> type : List.of(Author.class, Book.class, Magazine.class, ImportFingerprint.class)) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            indexResolver.resolveIndexFor(type).forEach(indexOps::ensureIndex);
+        }
+    }
+
+    /**
+     * Backfills {@link AuthorKeys#FIELD} on the documents written before {@link AuthorKeysListener} existed and indexes
+     * it.
+     */
+    @ChangeSet(order = "003", id = "authorKeys", author = "library")
+    public void createAuthorKeys(MongockTemplate mongoTemplate) {
+        backfillAuthorKeys(mongoTemplate);
+    }
+
+    /**
+     * The first backfill did not trim the authors like the listener does, so the keys are written again.
+     */
+    @ChangeSet(order = "004", id = "authorKeysTrimmed", author = "library")
+    public void recreateAuthorKeys(MongockTemplate mongoTemplate) {
+        backfillAuthorKeys(mongoTemplate);
+    }
+
+    /**
+     * Backs the catalogue search by author: its match runs with the German collation for the title sort, so the
+     * simple-collation index on authors cannot serve it.
+     */
+    @ChangeSet(order = "005", id = "authorTitleIndexes", author = "library")
+    public void createAuthorTitleIndexes(MongockTemplate mongoTemplate) {
+        for (Class<?> type : List.of(Book.class, Magazine.class)) {
+            mongoTemplate.indexOps(type).ensureIndex(new Index()
+                    .on("authors", Sort.Direction.ASC)
+                    .on("title", Sort.Direction.ASC)
+                    .on("isbn", Sort.Direction.ASC)
+                    .named("authors_title_isbn_de")
+                    .collation(Collations.GERMAN));
+        }
+    }
+
+    /**
+     * Computes the keys like {@link AuthorKeys#of(List)}: trimmed, lowercased and without duplicates.
+     * {@code $toLower} only lowercases ASCII, which the author emails are.
+     */
+    static void backfillAuthorKeys(MongoOperations mongoOperations) {
+        Document authorKeys = new Document("$setUnion", List.of(
+                new Document("$map", new Document("input", "$authors")
+                        .append("in", new Document("$toLower", new Document("$trim", new Document("input", "$$this")))))));
+        for (Class<?> type : List.of(Book.class, Magazine.class)) {
+            mongoOperations.getCollection(mongoOperations.getCollectionName(type))
+                    .updateMany(new Document("authors", new Document("$type", "array")),
+                            List.of(new Document("$set", new Document(AuthorKeys.FIELD, authorKeys))));
+            mongoOperations.indexOps(type).ensureIndex(new Index(AuthorKeys.FIELD, Sort.Direction.ASC));
+        }
+    }
+}
@@ -3,20 +3,40 @@ package com.optimizely.library.config;
 import com.optimizely.library.csv.CSVDataLoader;
 import com.optimizely.library.csv.mappers.AuthorMapper;
 import com.optimizely.library.csv.mappers.BookMapper;
+import com.optimizely.library.csv.mappers.CsvRecordMapper;
 import com.optimizely.library.csv.mappers.MagazineMapper;
+import com.optimizely.library.importer.BulkImporter;
+import com.optimizely.library.importer.DeltaImporter;
+import com.optimizely.library.importer.ImportMode;
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Magazine;
 import com.optimizely.library.repository.AuthorRepository;
 import com.optimizely.library.repository.BookRepository;
 import com.optimizely.library.repository.MagazineRepository;
+import com.optimizely.library.service.AuthorDirectory;
+import com.optimizely.library.service.CacheNames;
+import com.optimizely.library.service.CatalogueVersions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Slf4j
 @Component
@@ -24,13 +44,22 @@ public class LibraryDataLoader {
     @Autowired
     CSVDataLoader csvDataLoader;
 
-    @Value("classpath:data/buecher.csv")
+    @Autowired
+    BulkImporter bulkImporter;
+
+    @Autowired
+    DeltaImporter deltaImporter;
+
+    @Value("${library.import.mode:INCREMENTAL}")
+    private ImportMode importMode;
+
+    @Value("${library.import.books:classpath:data/buecher.csv}")
     private Resource booksData;
 
-    @Value("classpath:data/autoren.csv")
+    @Value("${library.import.authors:classpath:data/autoren.csv}")
     private Resource authorsData;
 
-    @Value("classpath:data/zeitschriften.csv")
+    @Value("${library.import.magazines:classpath:data/zeitschriften.csv}")
     private Resource magazinesData;
 
     @Autowired
@@ -43,46 +72,91 @@ public class LibraryDataLoader {
     @Autowired
     BookRepository bookRepository;
 
-    @Bean
     @Autowired
+    CatalogueImportHealthIndicator importHealth;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    AuthorDirectory authorDirectory;
+
+    @Autowired
+    CatalogueVersions catalogueVersions;
+
+    @Value("${library.import.enabled:true}")
+    private boolean importEnabled;
+
+    @Value("${library.import.threads:3}")
+    private int importThreads;
+
+    /**
+     * Imports the three files concurrently once the context is up, so startup is bounded by the slowest file.
+     * Readiness stays out of service until every import has finished, and down if any of them failed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
     public void run() {
+        if (!importEnabled) {
+            importHealth.completed();
+            return;
+        }
         log.info("Loading the data from CSV files");
-        loadAuthors();
-        loadBooks();
-        loadMagazines();
-        log.info("Loading the data from CSV files completed");
+        ExecutorService executor = Executors.newFixedThreadPool(importThreads, new CustomizableThreadFactory("catalogue-import-"));
+        CompletableFuture.allOf(
+                        load("author", Author.class, null, this::loadAuthors, executor),
+                        load("book", Book.class, CacheNames.BOOKS_BY_ISBN, this::loadBooks, executor),
+                        load("magazine", Magazine.class, CacheNames.MAGAZINES_BY_ISBN, this::loadMagazines, executor))
+                .whenComplete((result, e) -> {
+                    executor.shutdown();
+                    importHealth.completed();
+                    if (e == null) {
+                        log.info("Loading the data from CSV files completed");
+                    } else {
+                        log.error("Loading the data from CSV files completed with failures");
+                    }
+                });
+    }
+
+    private CompletableFuture<Void> load(String collection, Class<?> type, String cacheName, Runnable loader, ExecutorService executor) {
+        importHealth.started(collection);
+        return CompletableFuture.runAsync(loader, executor)
+                .whenComplete((result, e) -> {
+                    catalogueVersions.bump(type);
+                    if (cacheName != null) {
+                        Optional.ofNullable(cacheManager.getCache(cacheName)).ifPresent(Cache::clear);
+                    }
+                    if (e != null) {
+                        log.error("Exception occurred loading the {} collection", collection, e);
+                    }
+                    importHealth.finished(collection, e == null ? CatalogueImportHealthIndicator.IMPORTED : CatalogueImportHealthIndicator.FAILED);
+                });
     }
 
     private void loadAuthors() {
-        authorRepository.deleteAll();
-        try {
-            csvDataLoader
-                    .csvToObjects(authorsData.getFile().getAbsolutePath(), new AuthorMapper())
-                    .ifPresent(authors -> authors.forEach(author -> authorRepository.save(author)));
-        } catch (IOException e) {
-            log.error("Exception occurred processing the authors");
-        }
+        importCsv(authorsData, new AuthorMapper(), Author.class, "email", Author::getEmail, authorRepository);
+        authorDirectory.refresh();
     }
 
     public void loadBooks() {
-        bookRepository.deleteAll();
-        try {
-            csvDataLoader
-                    .csvToObjects(booksData.getFile().getAbsolutePath(), new BookMapper())
-                    .ifPresent(books -> books.forEach(book -> bookRepository.save(book)));
-        } catch (IOException e) {
-            log.error("Exception occurred processing the books");
-        }
+        importCsv(booksData, new BookMapper(), Book.class, "isbn", Book::getIsbn, bookRepository);
     }
 
     private void loadMagazines() {
-        magazineRepository.deleteAll();
-        try {
-        csvDataLoader
-                .csvToObjects(magazinesData.getFile().getAbsolutePath(), new MagazineMapper())
-                .ifPresent(magazines -> magazines.forEach(magazine -> magazineRepository.save(magazine)));
+        importCsv(magazinesData, new MagazineMapper(), Magazine.class, "isbn", Magazine::getIsbn, magazineRepository);
+    }
+
+    private <T> void importCsv(Resource data, CsvRecordMapper<T> mapper, Class<T> type,
+                               String keyField, Function<T, String> key, MongoRepository<T, ?> repository) {
+        try (Stream<T> documents = csvDataLoader.csvToStream(data, mapper)) {
+            if (importMode == ImportMode.INCREMENTAL) {
+                deltaImporter.importDelta(documents, type, keyField, key);
+            } else {
+                repository.deleteAll();
+                deltaImporter.forget(type);
+                bulkImporter.insert(documents, type);
+            }
         } catch (IOException e) {
-            log.error("Exception occurred processing the authors");
+            throw new UncheckedIOException("Could not read " + data, e);
         }
     }
 }
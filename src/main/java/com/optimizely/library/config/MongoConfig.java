@@ -0,0 +1,31 @@
+package com.optimizely.library.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+    /**
+     * Sizes the driver's connection pool, which bounds how many requests query Mongo at the same time; the pool is
+     * instrumented by the actuator as the {@code mongodb.driver.pool.*} metrics.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(@Value("${library.mongo.pool.max-size:100}") int maxSize,
+                                                                        @Value("${library.mongo.pool.min-size:0}") int minSize,
+                                                                        @Value("${library.mongo.pool.max-wait:2m}") Duration maxWait) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryCustomizer(SlowQueryListener slowQueryListener) {
+        return settings -> settings.addCommandListener(slowQueryListener);
+    }
+}
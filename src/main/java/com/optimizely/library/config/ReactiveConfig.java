@@ -0,0 +1,19 @@
+package com.optimizely.library.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+    /**
+     * Tomcat stays on the classpath for the servlet stack and would be preferred otherwise;
+     * the reactive stack is served from Netty's event loops instead.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,89 @@
+package com.optimizely.library.config;
+
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.service.BookService;
+import com.optimizely.library.service.MagazineService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Times every {@code BookService} and {@code MagazineService} call as {@code library.service} and records how many
+ * items it returned as {@code library.service.results}, tagged by service and method. Percentiles are configured
+ * through {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    static final String TIMER = "library.service";
+    static final String RESULTS = "library.service.results";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* com.optimizely.library.service.BookService.*(..))"
+            + " || execution(* com.optimizely.library.service.MagazineService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getTarget() instanceof BookService
+                ? BookService.class.getSimpleName()
+                : MagazineService.class.getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            recordSize(service, method, result);
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordSize(String service, String method, Object result) {
+        Integer size = sizeOf(result);
+        if (size == null) {
+            return;
+        }
+        DistributionSummary.builder(RESULTS)
+                .baseUnit("items")
+                .tag("service", service)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    /**
+     * @return null for results that are not a set of items or are consumed lazily, like streams
+     */
+    private static Integer sizeOf(Object result) {
+        if (result instanceof Collection<?> items) {
+            return items.size();
+        }
+        if (result instanceof CursorPage<?> page) {
+            return page.getItems().size();
+        }
+        if (result instanceof BatchLookup<?> lookup) {
+            return lookup.getFound().size();
+        }
+        if (result instanceof Optional<?> item) {
+            return item.isPresent() ? 1 : 0;
+        }
+        return null;
+    }
+}
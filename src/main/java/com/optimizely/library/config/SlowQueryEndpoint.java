@@ -0,0 +1,30 @@
+package com.optimizely.library.config;
+
+import com.optimizely.library.model.SlowQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowqueries} lists the reads recorded by {@link SlowQueryListener}; a DELETE forgets them.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+    private final SlowQueryListener slowQueryListener;
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueryListener.recent();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryListener.clear();
+    }
+}
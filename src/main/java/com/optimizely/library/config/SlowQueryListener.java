@@ -0,0 +1,237 @@
+package com.optimizely.library.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.optimizely.library.model.SlowQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the last {@code library.slow-query.capacity} reads that took longer than {@code library.slow-query.threshold},
+ * together with their {@code explain} plan. Only the parts of a read needed to explain it are copied when it starts;
+ * the explain runs on a single background thread and is dropped when that thread falls behind, so the requests
+ * themselves never wait for it.
+ */
+@Slf4j
+@Component
+public class SlowQueryListener implements CommandListener {
+    private static final Map<String, List<String>> EXPLAINABLE = Map.of(
+            "find", List.of("filter", "sort", "projection", "skip", "limit", "hint", "collation"),
+            "aggregate", List.of("pipeline", "hint", "collation"),
+            "count", List.of("query", "skip", "limit", "hint", "collation"),
+            "distinct", List.of("key", "query", "collation"));
+    private static final Set<String> VALUES = Set.of("filter", "query", "pipeline");
+    private static final int EXPLAIN_QUEUE = 16;
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final BiFunction<String, BsonDocument, BsonDocument> explainer;
+    private final Executor executor;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+
+    @Autowired
+    public SlowQueryListener(@Value("${library.slow-query.threshold:100ms}") Duration threshold,
+                             @Value("${library.slow-query.capacity:100}") int capacity,
+                             ObjectProvider<MongoClient> mongoClient) {
+        this(threshold, capacity,
+                (database, explain) -> mongoClient.getObject().getDatabase(database).runCommand(explain, BsonDocument.class),
+                explainExecutor());
+    }
+
+    SlowQueryListener(Duration threshold, int capacity, BiFunction<String, BsonDocument, BsonDocument> explainer, Executor executor) {
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = capacity;
+        this.explainer = explainer;
+        this.executor = executor;
+    }
+
+    private static Executor explainExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("slow-query-explain-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(EXPLAIN_QUEUE),
+                threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        List<String> fields = EXPLAINABLE.get(event.getCommandName());
+        if (fields == null) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue target = command.get(event.getCommandName());
+        BsonDocument copy = new BsonDocument(event.getCommandName(), copyOf(target));
+        for (String field : fields) {
+            BsonValue value = command.get(field);
+            if (value != null) {
+                copy.put(field, copyOf(value));
+            }
+        }
+        if (event.getCommandName().equals("aggregate")) {
+            copy.put("cursor", new BsonDocument());
+        }
+        inFlight.put(event.getRequestId(), new Started(event.getDatabaseName(), target.isString() ? target.asString().getValue() : null, copy));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (started != null && elapsed >= thresholdNanos) {
+            executor.execute(() -> add(explain(started, event.getCommandName(), TimeUnit.NANOSECONDS.toMillis(elapsed))));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    /**
+     * @return the slow queries recorded, most recent first
+     */
+    public synchronized List<SlowQuery> recent() {
+        List<SlowQuery> queries = new ArrayList<>(recent);
+        Collections.reverse(queries);
+        return queries;
+    }
+
+    public synchronized void clear() {
+        recent.clear();
+    }
+
+    private synchronized void add(SlowQuery query) {
+        if (recent.size() == capacity) {
+            recent.removeFirst();
+        }
+        recent.addLast(query);
+    }
+
+    private SlowQuery explain(Started started, String commandName, long durationMillis) {
+        String shape = shape(started.command()).toJson();
+        try {
+            BsonDocument explain = explainer.apply(started.database(),
+                    new BsonDocument("explain", started.command()).append("verbosity", new BsonString("executionStats")));
+            BsonDocument stats = find(explain, "executionStats");
+            return new SlowQuery(Instant.now(), started.database(), started.collection(), commandName, durationMillis, shape,
+                    stages(find(explain, "winningPlan")),
+                    number(stats, "totalDocsExamined"), number(stats, "totalKeysExamined"), number(stats, "nReturned"),
+                    null);
+        } catch (RuntimeException e) {
+            log.warn("Could not explain the slow {} on {}", commandName, started.collection(), e);
+            return new SlowQuery(Instant.now(), started.database(), started.collection(), commandName, durationMillis, shape,
+                    null, null, null, null, e.getMessage());
+        }
+    }
+
+    private static BsonValue copyOf(BsonValue value) {
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        return value.isArray() ? value.asArray().clone() : value;
+    }
+
+    private static BsonDocument shape(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        command.forEach((field, value) -> shape.put(field, VALUES.contains(field) ? withoutLiterals(value) : value));
+        return shape;
+    }
+
+    private static BsonValue withoutLiterals(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((field, nested) -> shape.put(field, withoutLiterals(nested)));
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray shape = new BsonArray();
+            value.asArray().forEach(element -> shape.add(withoutLiterals(element)));
+            return shape;
+        }
+        return new BsonString("?");
+    }
+
+    /**
+     * Looks the key up anywhere in the explain output, whose layout differs between commands and server versions.
+     */
+    private static BsonDocument find(BsonValue value, String key) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (document.isDocument(key)) {
+                return document.getDocument(key);
+            }
+            for (BsonValue nested : document.values()) {
+                BsonDocument found = find(nested, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value.isArray()) {
+            for (BsonValue element : value.asArray()) {
+                BsonDocument found = find(element, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<String> stages(BsonDocument plan) {
+        List<String> stages = new ArrayList<>();
+        while (plan != null) {
+            if (plan.isDocument("queryPlan")) {
+                plan = plan.getDocument("queryPlan");
+            }
+            if (plan.isString("stage")) {
+                stages.add(plan.getString("stage").getValue());
+            }
+            if (plan.isDocument("inputStage")) {
+                plan = plan.getDocument("inputStage");
+            } else if (plan.isArray("inputStages") && !plan.getArray("inputStages").isEmpty()) {
+                plan = plan.getArray("inputStages").get(0).asDocument();
+            } else {
+                plan = null;
+            }
+        }
+        return stages;
+    }
+
+    private static Long number(BsonDocument document, String key) {
+        if (document == null || !document.containsKey(key) || !document.get(key).isNumber()) {
+            return null;
+        }
+        return document.getNumber(key).longValue();
+    }
+
+    private record Started(String database, String collection, BsonDocument command) {
+    }
+}
@@ -1,16 +1,51 @@
 package com.optimizely.library.config;
 
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
+import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Springfox only documents Spring MVC, so it is left out of the {@code reactive} profile.
+ */
 @Configuration
+@EnableSwagger2
+@Profile("!reactive")
 public class SwaggerConfig {
     @Bean
     public Docket productApi() {
         return new Docket(DocumentationType.SWAGGER_2).select()
                 .apis(RequestHandlerSelectors.basePackage("com.optimizely.library")).build();
     }
+
+    /**
+     * The actuator endpoints are mapped with PathPatterns, which springfox cannot read;
+     * hide those handler mappings from it so the ANT_PATH_MATCHER controllers are still documented.
+     */
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    Field field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+                    ReflectionUtils.makeAccessible(field);
+                    List<RequestMappingInfoHandlerMapping> mappings = (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+                    mappings.removeIf(mapping -> mapping.getPatternParser() != null);
+                }
+                return bean;
+            }
+        };
+    }
 }
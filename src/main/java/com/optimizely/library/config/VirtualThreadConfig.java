@@ -0,0 +1,77 @@
+package com.optimizely.library.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling, and with it every blocking Mongo call of the services, on virtual threads instead of
+ * the bounded platform thread pool. The application is built for Java 17, so the executor is looked up at runtime and
+ * the platform threads are kept when the JVM does not provide virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    public VirtualThreadConfig() {
+        if (!isSupported()) {
+            log.warn("library.virtual-threads.enabled is set but Java {} has no virtual threads, requests stay on the platform thread pool",
+                    Runtime.version().feature());
+        }
+    }
+
+    @Bean
+    @Conditional(Supported.class)
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Replaces the pool behind Spring MVC async requests, so streamed responses are written from virtual threads too.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @Conditional(Supported.class)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    static boolean isSupported() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        if (executor == null) {
+            return false;
+        }
+        executor.shutdown();
+        return true;
+    }
+
+    /**
+     * @return {@code Executors.newVirtualThreadPerTaskExecutor()}, {@code null} on JVMs without virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    static class Supported implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return isSupported();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.optimizely.library.config;
+
+import com.optimizely.library.controller.ConditionalReadInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class WebConfig implements WebMvcConfigurer {
+    private final ConditionalReadInterceptor conditionalReadInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalReadInterceptor);
+    }
+}
@@ -1,34 +1,102 @@
 package com.optimizely.library.controller;
 
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
 import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.ExpandedBook;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
+import com.optimizely.library.service.AuthorDirectory;
 import com.optimizely.library.service.BookService;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/books")
 @RequiredArgsConstructor
+@Profile("!reactive")
 public class BooksController {
 
     @Autowired
     private final BookService bookService;
 
+    private final NdjsonWriter ndjsonWriter;
+
+    private final NdjsonReader ndjsonReader;
+
+    private final AuthorDirectory authorDirectory;
+
 
     @PostMapping
     ResponseEntity<Book> createBook(@RequestBody Book book) {
         return ResponseEntity.ok(bookService.createBook(book));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation("Create many books at once, reporting the rejected ones")
+    ResponseEntity<BulkCreateResult> createBooks(@RequestBody List<Book> books) {
+        return ResponseEntity.ok(bookService.createBooks(books.stream()));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation("Create books streamed as newline delimited JSON, reporting the rejected ones")
+    ResponseEntity<BulkCreateResult> createBooksFromNdjson(InputStream body) {
+        try (Stream<Book> books = ndjsonReader.read(body, Book.class)) {
+            return ResponseEntity.ok(bookService.createBooks(books));
+        }
+    }
+
     @GetMapping
     @ApiOperation("Get all the books")
-    ResponseEntity<List<Book>> getAllBooks() {
-        return ResponseEntity.ok(bookService.findAllBooks());
+    @ConditionalRead(Book.class)
+    @SparseFields
+    ResponseEntity<List<Book>> getAllBooks(@RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(bookService.findAllBooks());
+        }
+        return ResponseEntity.ok(bookService.findAllBooks(fields));
+    }
+
+    @GetMapping(params = "expand=authors")
+    @ApiOperation("Get all the books with their authors resolved")
+    ResponseEntity<List<ExpandedBook>> getAllBooksExpanded() {
+        return ResponseEntity.ok(bookService.findAllBooks()
+                .stream()
+                .map(authorDirectory::expand)
+                .toList());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation("Stream all the books as newline delimited JSON")
+    ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonWriter.write(bookService::streamAllBooks));
+    }
+
+    @GetMapping(params = "limit")
+    @ApiOperation("Get a page of books ordered by ISBN")
+    @ConditionalRead(Book.class)
+    ResponseEntity<CursorPage<Book>> getBooksPage(@RequestParam int limit, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(bookService.findBooks(cursor, limit));
+    }
+
+    @GetMapping(params = {"limit", "expand=authors"})
+    @ApiOperation("Get a page of books ordered by ISBN with their authors resolved")
+    ResponseEntity<CursorPage<ExpandedBook>> getBooksPageExpanded(@RequestParam int limit, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(bookService.findBooks(cursor, limit).map(authorDirectory::expand));
     }
 
     @GetMapping("/isbn/{isbn}")
@@ -39,13 +107,81 @@ public class BooksController {
                         .build());
     }
 
+    @GetMapping(value = "/isbn/{isbn}", params = "expand=authors")
+    @ApiOperation("Get a book with its authors resolved")
+    ResponseEntity<ExpandedBook> getBookByIsbnExpanded(@PathVariable String isbn) {
+        return bookService.findBookByIsbn(isbn)
+                .map(authorDirectory::expand)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound()
+                        .build());
+    }
+
+    @PostMapping("/isbn:batch")
+    @ApiOperation("Get the books for several ISBNs in one request")
+    ResponseEntity<BatchLookup<Book>> getBooksByIsbns(@RequestBody List<String> isbns) {
+        return ResponseEntity.ok(bookService.findBooksByIsbns(isbns));
+    }
+
     @GetMapping("/author/{author}")
-    ResponseEntity<List<Book>> getBookByAuthor(@PathVariable String author) {
-        return ResponseEntity.ok(bookService.findBooksByAuthor(author));
+    @ConditionalRead(Book.class)
+    @SparseFields
+    ResponseEntity<List<Book>> getBookByAuthor(@PathVariable String author,
+                                               @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(bookService.findBooksByAuthor(author));
+        }
+        return ResponseEntity.ok(bookService.findBooksByAuthor(author, fields));
+    }
+
+    @GetMapping(value = "/author/{author}", params = {"match", "expand!=authors"})
+    @ApiOperation("Get the books of an author compared exactly, ignoring case or as a case-insensitive prefix")
+    ResponseEntity<List<Book>> getBooksByAuthorMatching(@PathVariable String author, @RequestParam AuthorMatch match) {
+        return ResponseEntity.ok(bookService.findBooksByAuthor(author, match));
+    }
+
+    @GetMapping(value = "/author/{author}", params = "expand=authors")
+    @ApiOperation("Get the books of an author with their authors resolved")
+    ResponseEntity<List<ExpandedBook>> getBooksByAuthorExpanded(@PathVariable String author,
+                                                                @RequestParam(defaultValue = "EXACT") AuthorMatch match) {
+        return ResponseEntity.ok(bookService.findBooksByAuthor(author, match)
+                .stream()
+                .map(authorDirectory::expand)
+                .toList());
+    }
+
+    @GetMapping("/search")
+    @ApiOperation("Search the books by title and description, best matches first")
+    ResponseEntity<List<SearchHit<Book>>> searchBooks(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(bookService.searchBooks(q, page, size));
     }
 
     @GetMapping("/sort-by-title")
-    ResponseEntity<List<Book>> getBooksByTitle(@RequestParam Order order) {
-        return ResponseEntity.ok(bookService.findBooksOrderedByTitle(order));
+    @ConditionalRead(Book.class)
+    @SparseFields
+    ResponseEntity<List<Book>> getBooksByTitle(@RequestParam Order order,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(size == null
+                    ? bookService.findBooksOrderedByTitle(order, fields)
+                    : bookService.findBooksOrderedByTitle(order, page, size, fields));
+        }
+        if (size == null) {
+            return ResponseEntity.ok(bookService.findBooksOrderedByTitle(order));
+        }
+        return ResponseEntity.ok(bookService.findBooksOrderedByTitle(order, page, size));
+    }
+
+    @GetMapping(value = "/sort-by-title", params = "expand=authors")
+    @ApiOperation("Get the books ordered by title with their authors resolved")
+    ResponseEntity<List<ExpandedBook>> getBooksByTitleExpanded(@RequestParam Order order,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(required = false) Integer size) {
+        List<Book> books = size == null ? bookService.findBooksOrderedByTitle(order) : bookService.findBooksOrderedByTitle(order, page, size);
+        return ResponseEntity.ok(books.stream().map(authorDirectory::expand).toList());
     }
 }
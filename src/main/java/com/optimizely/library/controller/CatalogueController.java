@@ -0,0 +1,30 @@
+package com.optimizely.library.controller;
+
+import com.optimizely.library.model.CatalogueItem;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.service.CatalogueService;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/catalogue")
+@RequiredArgsConstructor
+@Profile("!reactive")
+public class CatalogueController {
+
+    private final CatalogueService catalogueService;
+
+    @GetMapping("/search")
+    @ApiOperation("Get the books and magazines of an author in one list ordered by title")
+    ResponseEntity<List<CatalogueItem>> searchByAuthor(@RequestParam String author,
+                                                       @RequestParam(defaultValue = "ASC") Order order,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(catalogueService.findByAuthor(author, order, page, size));
+    }
+}
@@ -0,0 +1,16 @@
+package com.optimizely.library.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response only changes when the given collection is written, so it can be answered with
+ * {@code 304 Not Modified} from {@link ConditionalReadInterceptor} before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalRead {
+    Class<?> value();
+}
@@ -0,0 +1,35 @@
+package com.optimizely.library.controller;
+
+import com.optimizely.library.service.CatalogueVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tags the responses of {@link ConditionalRead} handlers with the collection's ETag and, when the client already has
+ * that version, answers {@code 304 Not Modified} without querying Mongo or serialising the result.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalReadInterceptor implements HandlerInterceptor {
+    private final CatalogueVersions catalogueVersions;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        ConditionalRead conditionalRead = handlerMethod.getMethodAnnotation(ConditionalRead.class);
+        if (conditionalRead == null) {
+            return true;
+        }
+        String etag = catalogueVersions.etag(conditionalRead.value());
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -1,31 +1,99 @@
 package com.optimizely.library.controller;
 
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.ExpandedMagazine;
 import com.optimizely.library.model.Magazine;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
+import com.optimizely.library.service.AuthorDirectory;
 import com.optimizely.library.service.MagazineService;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/magazines")
 @RequiredArgsConstructor
+@Profile("!reactive")
 public class MagazinesController {
 
     private final MagazineService magazineService;
 
+    private final NdjsonWriter ndjsonWriter;
+
+    private final NdjsonReader ndjsonReader;
+
+    private final AuthorDirectory authorDirectory;
+
     @PostMapping
     ResponseEntity<Magazine> crateMagazine(@RequestBody Magazine magazine) {
         return ResponseEntity.ok(magazineService.createMagazine(magazine));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation("Create many magazines at once, reporting the rejected ones")
+    ResponseEntity<BulkCreateResult> createMagazines(@RequestBody List<Magazine> magazines) {
+        return ResponseEntity.ok(magazineService.createMagazines(magazines.stream()));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation("Create magazines streamed as newline delimited JSON, reporting the rejected ones")
+    ResponseEntity<BulkCreateResult> createMagazinesFromNdjson(InputStream body) {
+        try (Stream<Magazine> magazines = ndjsonReader.read(body, Magazine.class)) {
+            return ResponseEntity.ok(magazineService.createMagazines(magazines));
+        }
+    }
+
     @GetMapping
     @ApiOperation("Get all the magazines")
-    public ResponseEntity<List<Magazine>> getAllMagazines() {
-        return ResponseEntity.ok(magazineService.findAllMagazines());
+    @ConditionalRead(Magazine.class)
+    @SparseFields
+    public ResponseEntity<List<Magazine>> getAllMagazines(@RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(magazineService.findAllMagazines());
+        }
+        return ResponseEntity.ok(magazineService.findAllMagazines(fields));
+    }
+
+    @GetMapping(params = "expand=authors")
+    @ApiOperation("Get all the magazines with their authors resolved")
+    ResponseEntity<List<ExpandedMagazine>> getAllMagazinesExpanded() {
+        return ResponseEntity.ok(magazineService.findAllMagazines()
+                .stream()
+                .map(authorDirectory::expand)
+                .toList());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiOperation("Stream all the magazines as newline delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamAllMagazines() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonWriter.write(magazineService::streamAllMagazines));
+    }
+
+    @GetMapping(params = "limit")
+    @ApiOperation("Get a page of magazines ordered by ISBN")
+    @ConditionalRead(Magazine.class)
+    public ResponseEntity<CursorPage<Magazine>> getMagazinesPage(@RequestParam int limit, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(magazineService.findMagazines(cursor, limit));
+    }
+
+    @GetMapping(params = {"limit", "expand=authors"})
+    @ApiOperation("Get a page of magazines ordered by ISBN with their authors resolved")
+    ResponseEntity<CursorPage<ExpandedMagazine>> getMagazinesPageExpanded(@RequestParam int limit, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(magazineService.findMagazines(cursor, limit).map(authorDirectory::expand));
     }
 
     @GetMapping("/isbn/{isbn}")
@@ -36,13 +104,81 @@ public class MagazinesController {
                         .build());
     }
 
+    @GetMapping(value = "/isbn/{isbn}", params = "expand=authors")
+    @ApiOperation("Get a magazine with its authors resolved")
+    ResponseEntity<ExpandedMagazine> getMagazineByIsbnExpanded(@PathVariable String isbn) {
+        return magazineService.findMagazineByIsbn(isbn)
+                .map(authorDirectory::expand)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound()
+                        .build());
+    }
+
+    @PostMapping("/isbn:batch")
+    @ApiOperation("Get the magazines for several ISBNs in one request")
+    public ResponseEntity<BatchLookup<Magazine>> getMagazinesByIsbns(@RequestBody List<String> isbns) {
+        return ResponseEntity.ok(magazineService.findMagazinesByIsbns(isbns));
+    }
+
     @GetMapping("/author/{author}")
-    ResponseEntity<List<Magazine>> getBookByAuthor(@PathVariable String author) {
-        return ResponseEntity.ok(magazineService.findMagazinesByAuthor(author));
+    @ConditionalRead(Magazine.class)
+    @SparseFields
+    ResponseEntity<List<Magazine>> getBookByAuthor(@PathVariable String author,
+                                                   @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(magazineService.findMagazinesByAuthor(author));
+        }
+        return ResponseEntity.ok(magazineService.findMagazinesByAuthor(author, fields));
+    }
+
+    @GetMapping(value = "/author/{author}", params = {"match", "expand!=authors"})
+    @ApiOperation("Get the magazines of an author compared exactly, ignoring case or as a case-insensitive prefix")
+    ResponseEntity<List<Magazine>> getMagazinesByAuthorMatching(@PathVariable String author, @RequestParam AuthorMatch match) {
+        return ResponseEntity.ok(magazineService.findMagazinesByAuthor(author, match));
+    }
+
+    @GetMapping(value = "/author/{author}", params = "expand=authors")
+    @ApiOperation("Get the magazines of an author with their authors resolved")
+    ResponseEntity<List<ExpandedMagazine>> getMagazinesByAuthorExpanded(@PathVariable String author,
+                                                                        @RequestParam(defaultValue = "EXACT") AuthorMatch match) {
+        return ResponseEntity.ok(magazineService.findMagazinesByAuthor(author, match)
+                .stream()
+                .map(authorDirectory::expand)
+                .toList());
+    }
+
+    @GetMapping("/search")
+    @ApiOperation("Search the magazines by title, best matches first")
+    ResponseEntity<List<SearchHit<Magazine>>> searchMagazines(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(magazineService.searchMagazines(q, page, size));
     }
 
     @GetMapping("/sort-by-title")
-    ResponseEntity<List<Magazine>> getBooksByTitle(@RequestParam Order order) {
-        return ResponseEntity.ok(magazineService.findMagazinesOrderedByTitle(order));
+    @ConditionalRead(Magazine.class)
+    @SparseFields
+    ResponseEntity<List<Magazine>> getBooksByTitle(@RequestParam Order order,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(required = false) Integer size,
+                                                   @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(size == null
+                    ? magazineService.findMagazinesOrderedByTitle(order, fields)
+                    : magazineService.findMagazinesOrderedByTitle(order, page, size, fields));
+        }
+        if (size == null) {
+            return ResponseEntity.ok(magazineService.findMagazinesOrderedByTitle(order));
+        }
+        return ResponseEntity.ok(magazineService.findMagazinesOrderedByTitle(order, page, size));
+    }
+
+    @GetMapping(value = "/sort-by-title", params = "expand=authors")
+    @ApiOperation("Get the magazines ordered by title with their authors resolved")
+    ResponseEntity<List<ExpandedMagazine>> getMagazinesByTitleExpanded(@RequestParam Order order,
+                                                                       @RequestParam(defaultValue = "0") int page,
+                                                                       @RequestParam(required = false) Integer size) {
+        List<Magazine> magazines = size == null ? magazineService.findMagazinesOrderedByTitle(order) : magazineService.findMagazinesOrderedByTitle(order, page, size);
+        return ResponseEntity.ok(magazines.stream().map(authorDirectory::expand).toList());
     }
 }
@@ -0,0 +1,56 @@
+package com.optimizely.library.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Parses a newline delimited JSON request body lazily, one document at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NdjsonReader {
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Every non-blank line is parsed on its own, so a malformed line does not stop the lines after it: it is read as
+     * {@code null} and keeps its position in the stream, for the caller to report it.
+     *
+     * @return a stream to be closed by the caller
+     */
+    public <T> Stream<T> read(InputStream body, Class<T> type) {
+        ObjectReader reader = objectMapper.readerFor(type);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return lines.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> NdjsonReader.<T>parse(reader, line))
+                .onClose(() -> {
+                    try {
+                        lines.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static <T> T parse(ObjectReader reader, String line) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping a malformed NDJSON line: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.optimizely.library.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes documents as newline delimited JSON straight from a Mongo cursor to the response,
+ * so neither the result set nor the response body is ever held in memory.
+ */
+@Component
+public class NdjsonWriter {
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+
+    public NdjsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param documents opened on the response thread and closed once written, releasing the cursor
+     */
+    public <T> StreamingResponseBody write(Supplier<Stream<T>> documents) {
+        return outputStream -> {
+            try (Stream<T> stream = documents.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    objectWriter.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+    }
+}
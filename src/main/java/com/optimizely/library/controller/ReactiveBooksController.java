@@ -0,0 +1,80 @@
+package com.optimizely.library.controller;
+
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.service.ReactiveBookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Serves the routes of {@link BooksController} on WebFlux when the {@code reactive} profile is active.
+ */
+@RestController
+@RequestMapping("/books")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveBooksController {
+
+    private final ReactiveBookService bookService;
+
+    @PostMapping
+    Mono<ResponseEntity<Book>> createBook(@RequestBody Book book) {
+        return bookService.createBook(book).map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    Mono<ResponseEntity<BulkCreateResult>> createBooks(@RequestBody Flux<Book> books) {
+        return bookService.createBooks(books).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Rendered as a JSON array, or streamed as newline delimited JSON when the client accepts it.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    ResponseEntity<Flux<Book>> getAllBooks() {
+        return ResponseEntity.ok(bookService.findAllBooks());
+    }
+
+    @GetMapping(params = "limit")
+    Mono<ResponseEntity<CursorPage<Book>>> getBooksPage(@RequestParam int limit, @RequestParam(required = false) String cursor) {
+        return bookService.findBooks(cursor, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/isbn/{isbn}")
+    Mono<ResponseEntity<Book>> getBookByIsbn(@PathVariable String isbn) {
+        return bookService.findBookByIsbn(isbn)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound()
+                        .build());
+    }
+
+    @PostMapping("/isbn:batch")
+    Mono<ResponseEntity<BatchLookup<Book>>> getBooksByIsbns(@RequestBody List<String> isbns) {
+        return bookService.findBooksByIsbns(isbns).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/author/{author}")
+    ResponseEntity<Flux<Book>> getBooksByAuthor(@PathVariable String author) {
+        return ResponseEntity.ok(bookService.findBooksByAuthor(author));
+    }
+
+    @GetMapping("/sort-by-title")
+    ResponseEntity<Flux<Book>> getBooksByTitle(@RequestParam Order order,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(required = false) Integer size) {
+        if (size == null) {
+            return ResponseEntity.ok(bookService.findBooksOrderedByTitle(order));
+        }
+        return ResponseEntity.ok(bookService.findBooksOrderedByTitle(order, page, size));
+    }
+}
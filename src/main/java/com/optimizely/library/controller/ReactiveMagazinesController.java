@@ -0,0 +1,80 @@
+package com.optimizely.library.controller;
+
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.service.ReactiveMagazineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Serves the routes of {@link MagazinesController} on WebFlux when the {@code reactive} profile is active.
+ */
+@RestController
+@RequestMapping("/magazines")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveMagazinesController {
+
+    private final ReactiveMagazineService magazineService;
+
+    @PostMapping
+    Mono<ResponseEntity<Magazine>> createMagazine(@RequestBody Magazine magazine) {
+        return magazineService.createMagazine(magazine).map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    Mono<ResponseEntity<BulkCreateResult>> createMagazines(@RequestBody Flux<Magazine> magazines) {
+        return magazineService.createMagazines(magazines).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Rendered as a JSON array, or streamed as newline delimited JSON when the client accepts it.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    ResponseEntity<Flux<Magazine>> getAllMagazines() {
+        return ResponseEntity.ok(magazineService.findAllMagazines());
+    }
+
+    @GetMapping(params = "limit")
+    Mono<ResponseEntity<CursorPage<Magazine>>> getMagazinesPage(@RequestParam int limit, @RequestParam(required = false) String cursor) {
+        return magazineService.findMagazines(cursor, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/isbn/{isbn}")
+    Mono<ResponseEntity<Magazine>> getMagazineByIsbn(@PathVariable String isbn) {
+        return magazineService.findMagazineByIsbn(isbn)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound()
+                        .build());
+    }
+
+    @PostMapping("/isbn:batch")
+    Mono<ResponseEntity<BatchLookup<Magazine>>> getMagazinesByIsbns(@RequestBody List<String> isbns) {
+        return magazineService.findMagazinesByIsbns(isbns).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/author/{author}")
+    ResponseEntity<Flux<Magazine>> getMagazinesByAuthor(@PathVariable String author) {
+        return ResponseEntity.ok(magazineService.findMagazinesByAuthor(author));
+    }
+
+    @GetMapping("/sort-by-title")
+    ResponseEntity<Flux<Magazine>> getMagazinesByTitle(@RequestParam Order order,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(required = false) Integer size) {
+        if (size == null) {
+            return ResponseEntity.ok(magazineService.findMagazinesOrderedByTitle(order));
+        }
+        return ResponseEntity.ok(magazineService.findMagazinesOrderedByTitle(order, page, size));
+    }
+}
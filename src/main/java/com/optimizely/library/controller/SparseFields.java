@@ -0,0 +1,15 @@
+package com.optimizely.library.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler that accepts a {@code fields} parameter, so {@link SparseFieldsAdvice} leaves the properties
+ * that were not read out of its response instead of serialising them as {@code null}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SparseFields {
+}
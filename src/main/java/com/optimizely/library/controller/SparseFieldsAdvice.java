@@ -0,0 +1,43 @@
+package com.optimizely.library.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Omits {@code null} properties from the responses of {@link SparseFields} handlers, but only when a {@code fields}
+ * projection was requested: full responses keep serialising a missing value as {@code null}.
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    private final ObjectMapper sparseMapper;
+
+    public SparseFieldsAdvice(ObjectMapper objectMapper) {
+        this.sparseMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && returnType.hasMethodAnnotation(SparseFields.class);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getParameter("fields") != null) {
+            bodyContainer.setValue(sparseMapper.valueToTree(bodyContainer.getValue()));
+        }
+    }
+}
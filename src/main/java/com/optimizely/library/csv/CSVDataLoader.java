@@ -1,19 +1,24 @@
 package com.optimizely.library.csv;
 
 import lombok.extern.slf4j.Slf4j;
+import com.optimizely.library.csv.mappers.CsvRecordMapper;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedReader;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.toList;
 
@@ -22,19 +27,47 @@ import static java.util.stream.Collectors.toList;
 @Component
 public class CSVDataLoader {
     public <T> Optional<List<T>> csvToObjects(String fileName, Function<Map<String, String>, T> mapper) {
+        return csvToObjects(new ClassPathResource("data/" + fileName), mapper);
+    }
 
-        try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(String.valueOf(getClass().getClassLoader().getResource("data/" + fileName)))));
-             CSVParser csvParser = new CSVParser(fileReader, CSVFormat.newFormat(';').withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim())) {
-
-            var csvRecords = csvParser.getRecords()
-                    .stream().map(CSVRecord::toMap).toList();
-            List<T> entities = csvRecords.stream()
-                    .map(mapper).collect(toList());
-
-            return Optional.of(entities);
-        } catch (IOException e) {
-            log.error("Error occurred parsing CSV {} {}", fileName, e);
+    public <T> Optional<List<T>> csvToObjects(Resource resource, Function<Map<String, String>, T> mapper) {
+        try (Stream<T> entities = csvToStream(resource, headerMap -> csvRecord -> mapper.apply(csvRecord.toMap()))) {
+            return Optional.of(entities.collect(toList()));
+        } catch (IOException | IllegalArgumentException | IllegalStateException | UncheckedIOException e) {
+            log.error("Error occurred parsing CSV {} {}", resource, e);
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Lazily parses the CSV, mapping one record at a time so the heap holds a single row regardless of the file size.
+     * The mapper resolves the header positions once and then reads every record by column index.
+     * The returned stream owns the underlying file handle and has to be closed by the caller.
+     */
+    public <T> Stream<T> csvToStream(Resource resource, CsvRecordMapper<T> mapper) throws IOException {
+        BufferedReader fileReader = new BufferedReader(new InputStreamReader(resource.getInputStream()));
+        CSVParser csvParser;
+        Function<CSVRecord, T> recordMapper;
+        try {
+            csvParser = new CSVParser(fileReader, CSVFormat.newFormat(';').withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim());
+        } catch (IOException | RuntimeException e) {
+            fileReader.close();
+            throw e;
+        }
+        try {
+            recordMapper = mapper.forHeader(csvParser.getHeaderMap());
+        } catch (RuntimeException e) {
+            csvParser.close();
+            throw e;
+        }
+        return StreamSupport.stream(csvParser.spliterator(), false)
+                .map(recordMapper)
+                .onClose(() -> {
+                    try {
+                        csvParser.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,208 @@
+package com.optimizely.library.csv.generator;
+
+import com.optimizely.library.csv.mappers.AuthorMapper;
+import com.optimizely.library.csv.mappers.BookMapper;
+import com.optimizely.library.csv.mappers.MagazineMapper;
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Magazine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates catalogues of any size in the {@code ;} separated format of the files under {@code data}, for import and
+ * query benchmarks. Every book and magazine has between one and {@code maxAuthorsPerItem} authors, drawn with a Zipf
+ * distribution of exponent {@code skew}: with 0 every author is equally likely, with 1 the n-th author writes about
+ * 1/n as much as the first. The same seed always generates the same catalogue.
+ * <p>
+ * From the command line: {@code mvn compile exec:java -Dexec.mainClass=com.optimizely.library.csv.generator.CatalogueGenerator
+ * -Dexec.args="--out=target/catalogue --books=1000000 --magazines=1000000 --authors=10000 --max-authors-per-item=3
+ * --skew=1.0 --seed=42"}
+ */
+public class CatalogueGenerator {
+    public static final String AUTHORS_FILE = "autoren.csv";
+    public static final String BOOKS_FILE = "buecher.csv";
+    public static final String MAGAZINES_FILE = "zeitschriften.csv";
+
+    private static final String[] WORDS = {
+            "Kochen", "Backen", "Garten", "Reise", "Geschichte", "Kinder", "Familie", "Wandern", "Berge", "Meer",
+            "Musik", "Kunst", "Technik", "Natur", "Gesundheit", "Sport", "Wein", "Haus", "Stadt", "Zeit"};
+    private static final long MAGAZINE_SEED = 0x5DEECE66DL;
+
+    private final int authors;
+    private final int maxAuthorsPerItem;
+    private final double[] cumulativeWeights;
+    private final long seed;
+
+    public CatalogueGenerator(int authors, int maxAuthorsPerItem, double skew, long seed) {
+        if (authors < 1 || maxAuthorsPerItem < 1 || maxAuthorsPerItem > authors || skew < 0) {
+            throw new IllegalArgumentException("Needs at least one author, 1 to " + authors + " authors per item and a skew of at least 0");
+        }
+        this.authors = authors;
+        this.maxAuthorsPerItem = maxAuthorsPerItem;
+        this.seed = seed;
+        cumulativeWeights = new double[authors];
+        double total = 0;
+        for (int rank = 0; rank < authors; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            cumulativeWeights[rank] = total;
+        }
+    }
+
+    public Stream<Author> authors() {
+        return IntStream.range(0, authors).mapToObj(i -> new Author(email(i), "Vorname" + i, "Nachname" + i));
+    }
+
+    public Stream<Book> books(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            SplittableRandom random = random(seed, i);
+            return new Book(title(random, i), isbn(i), authors(random), description(random));
+        });
+    }
+
+    public Stream<Magazine> magazines(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            SplittableRandom random = random(seed ^ MAGAZINE_SEED, i);
+            return new Magazine(title(random, i), isbn(i), authors(random), publicationDate(random));
+        });
+    }
+
+    public void writeAuthors(Appendable out) throws IOException {
+        write(out, new String[]{AuthorMapper.EMAIL, AuthorMapper.FIRST_NAME, AuthorMapper.LAST_NAME}, authors(),
+                author -> new String[]{author.getEmail(), author.getFirstName(), author.getLastName()});
+    }
+
+    public void writeBooks(Appendable out, int rows) throws IOException {
+        write(out, new String[]{BookMapper.TITLE, BookMapper.ISBN, BookMapper.AUTHORS, BookMapper.DESCRIPTION}, books(rows),
+                book -> new String[]{book.getTitle(), book.getIsbn(), String.join(",", book.getAuthors()), book.getDescription()});
+    }
+
+    public void writeMagazines(Appendable out, int rows) throws IOException {
+        write(out, new String[]{MagazineMapper.TITLE, MagazineMapper.ISBN, MagazineMapper.AUTHORS, MagazineMapper.PUBLICATION_DATE}, magazines(rows),
+                magazine -> new String[]{magazine.getTitle(), magazine.getIsbn(), String.join(",", magazine.getAuthors()), magazine.getPublicationDate()});
+    }
+
+    /**
+     * Writes {@value #AUTHORS_FILE}, {@value #BOOKS_FILE} and {@value #MAGAZINES_FILE} into {@code directory}.
+     */
+    public void writeFiles(Path directory, int books, int magazines) throws IOException {
+        Files.createDirectories(directory);
+        try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(AUTHORS_FILE), StandardCharsets.UTF_8)) {
+            writeAuthors(out);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(BOOKS_FILE), StandardCharsets.UTF_8)) {
+            writeBooks(out, books);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(directory.resolve(MAGAZINES_FILE), StandardCharsets.UTF_8)) {
+            writeMagazines(out, magazines);
+        }
+    }
+
+    public static String email(int author) {
+        return "pr-author" + author + "@optivo.de";
+    }
+
+    public static String isbn(int i) {
+        return String.format("%04d-%04d-%04d", i / 100_000_000 % 10_000, i / 10_000 % 10_000, i % 10_000);
+    }
+
+    private List<String> authors(SplittableRandom random) {
+        int count = 1 + random.nextInt(maxAuthorsPerItem);
+        Set<String> picked = new LinkedHashSet<>();
+        for (int attempt = 0; picked.size() < count && attempt < count * 8; attempt++) {
+            picked.add(email(author(random)));
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private int author(SplittableRandom random) {
+        double target = random.nextDouble() * cumulativeWeights[authors - 1];
+        int rank = Arrays.binarySearch(cumulativeWeights, target);
+        return rank >= 0 ? rank : Math.min(-rank - 1, authors - 1);
+    }
+
+    private static String title(SplittableRandom random, int i) {
+        return word(random) + " und " + word(random) + " " + (i + 1);
+    }
+
+    private static String description(SplittableRandom random) {
+        StringBuilder description = new StringBuilder("Ein Buch ueber");
+        for (int word = 0; word < 12; word++) {
+            description.append(' ').append(word(random));
+        }
+        return description.append('.').toString();
+    }
+
+    private static String publicationDate(SplittableRandom random) {
+        return String.format("%02d.%02d.%04d", 1 + random.nextInt(28), 1 + random.nextInt(12), 1980 + random.nextInt(45));
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    /**
+     * Seeds every row on its own, so a row does not depend on how many rows came before it.
+     */
+    private static SplittableRandom random(long seed, int row) {
+        return new SplittableRandom(seed + row * 0xBF58476D1CE4E5B9L);
+    }
+
+    private static <T> void write(Appendable out, String[] header, Stream<T> rows, Function<T, String[]> columns) throws IOException {
+        out.append(String.join(";", header)).append('\n');
+        try {
+            rows.forEach(row -> {
+                try {
+                    out.append(String.join(";", columns.apply(row))).append('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = Path.of("target/catalogue");
+        int books = 1_000_000;
+        int magazines = 1_000_000;
+        int authors = 10_000;
+        int maxAuthorsPerItem = 3;
+        double skew = 1.0;
+        long seed = 42;
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            switch (option[0]) {
+                case "--out" -> out = Path.of(option[1]);
+                case "--books" -> books = Integer.parseInt(option[1]);
+                case "--magazines" -> magazines = Integer.parseInt(option[1]);
+                case "--authors" -> authors = Integer.parseInt(option[1]);
+                case "--max-authors-per-item" -> maxAuthorsPerItem = Integer.parseInt(option[1]);
+                case "--skew" -> skew = Double.parseDouble(option[1]);
+                case "--seed" -> seed = Long.parseLong(option[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + option[0]
+                        + ", expected --out, --books, --magazines, --authors, --max-authors-per-item, --skew or --seed");
+            }
+        }
+        new CatalogueGenerator(authors, maxAuthorsPerItem, skew, seed).writeFiles(out, books, magazines);
+        System.out.printf("Wrote %d authors, %d books and %d magazines to %s%n", authors, books, magazines, out.toAbsolutePath());
+    }
+}
@@ -1,16 +1,35 @@
 package com.optimizely.library.csv.mappers;
 
 import com.optimizely.library.model.Author;
+import org.apache.commons.csv.CSVRecord;
 
 import java.util.Map;
 import java.util.function.Function;
 
-public class AuthorMapper implements Function<Map<String, String>, Author> {
+import static com.optimizely.library.csv.mappers.CsvRecordMapper.column;
+import static com.optimizely.library.csv.mappers.CsvRecordMapper.value;
+
+public class AuthorMapper implements Function<Map<String, String>, Author>, CsvRecordMapper<Author> {
+    public static final String EMAIL = "Emailadresse";
+    public static final String FIRST_NAME = "Vorname";
+    public static final String LAST_NAME = "Nachname";
+
     @Override
     public Author apply(Map<String, String> map) {
         return new Author(
-                map.get("Emailadresse"),
-                map.get("Vorname"),
-                map.get("Nachname"));
+                map.get(EMAIL),
+                map.get(FIRST_NAME),
+                map.get(LAST_NAME));
+    }
+
+    @Override
+    public Function<CSVRecord, Author> forHeader(Map<String, Integer> headerMap) {
+        int email = column(headerMap, EMAIL);
+        int firstName = column(headerMap, FIRST_NAME);
+        int lastName = column(headerMap, LAST_NAME);
+        return csvRecord -> new Author(
+                value(csvRecord, email),
+                value(csvRecord, firstName),
+                value(csvRecord, lastName));
     }
-}
\ No newline at end of file
+}
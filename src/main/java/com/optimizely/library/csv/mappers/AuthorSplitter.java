@@ -0,0 +1,36 @@
+package com.optimizely.library.csv.mappers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a comma separated author column the way {@code Arrays.asList(value.split(","))} does,
+ * without the intermediate array and with no allocation beyond the tokens for single author rows.
+ */
+public final class AuthorSplitter {
+    private AuthorSplitter() {
+    }
+
+    public static List<String> split(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        int comma = value.indexOf(',');
+        if (comma < 0) {
+            return List.of(value);
+        }
+        List<String> authors = new ArrayList<>(4);
+        int start = 0;
+        while (comma >= 0) {
+            authors.add(value.substring(start, comma));
+            start = comma + 1;
+            comma = value.indexOf(',', start);
+        }
+        authors.add(value.substring(start));
+        int size = authors.size();
+        while (size > 0 && authors.get(size - 1).isEmpty()) {
+            authors.remove(--size);
+        }
+        return authors;
+    }
+}
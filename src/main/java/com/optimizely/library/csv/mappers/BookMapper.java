@@ -1,18 +1,40 @@
 package com.optimizely.library.csv.mappers;
 
 import com.optimizely.library.model.Book;
+import org.apache.commons.csv.CSVRecord;
 
 import java.util.Arrays;
 import java.util.Map;
 import java.util.function.Function;
 
-public class BookMapper implements Function<Map<String, String>, Book> {
+import static com.optimizely.library.csv.mappers.CsvRecordMapper.column;
+import static com.optimizely.library.csv.mappers.CsvRecordMapper.value;
+
+public class BookMapper implements Function<Map<String, String>, Book>, CsvRecordMapper<Book> {
+    public static final String TITLE = "Titel";
+    public static final String ISBN = "ISBN-Nummer";
+    public static final String AUTHORS = "Autoren";
+    public static final String DESCRIPTION = "Kurzbeschreibung";
+
     @Override
     public Book apply(Map<String, String> map) {
         return new Book(
-                map.get("Titel"),
-                map.get("ISBN-Nummer"),
-                Arrays.asList(map.get("Autoren").split(",")),
-                map.get("Kurzbeschreibung"));
+                map.get(TITLE),
+                map.get(ISBN),
+                Arrays.asList(map.get(AUTHORS).split(",")),
+                map.get(DESCRIPTION));
+    }
+
+    @Override
+    public Function<CSVRecord, Book> forHeader(Map<String, Integer> headerMap) {
+        int title = column(headerMap, TITLE);
+        int isbn = column(headerMap, ISBN);
+        int authors = column(headerMap, AUTHORS);
+        int description = column(headerMap, DESCRIPTION);
+        return csvRecord -> new Book(
+                value(csvRecord, title),
+                value(csvRecord, isbn),
+                AuthorSplitter.split(value(csvRecord, authors)),
+                value(csvRecord, description));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.optimizely.library.csv.mappers;
+
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maps CSV records by column position: the header is resolved once per file and every record is then read by index.
+ */
+@FunctionalInterface
+public interface CsvRecordMapper<T> {
+    Function<CSVRecord, T> forHeader(Map<String, Integer> headerMap);
+
+    static int column(Map<String, Integer> headerMap, String name) {
+        Integer index = headerMap.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Missing CSV column " + name);
+        }
+        return index;
+    }
+
+    static String value(CSVRecord csvRecord, int column) {
+        return column < csvRecord.size() ? csvRecord.get(column) : null;
+    }
+}
@@ -1,18 +1,40 @@
 package com.optimizely.library.csv.mappers;
 
 import com.optimizely.library.model.Magazine;
+import org.apache.commons.csv.CSVRecord;
 
 import java.util.Arrays;
 import java.util.Map;
 import java.util.function.Function;
 
-public class MagazineMapper implements Function<Map<String, String>, Magazine> {
+import static com.optimizely.library.csv.mappers.CsvRecordMapper.column;
+import static com.optimizely.library.csv.mappers.CsvRecordMapper.value;
+
+public class MagazineMapper implements Function<Map<String, String>, Magazine>, CsvRecordMapper<Magazine> {
+    public static final String TITLE = "Titel";
+    public static final String ISBN = "ISBN-Nummer";
+    public static final String AUTHORS = "Autor";
+    public static final String PUBLICATION_DATE = "Erscheinungsdatum";
+
     @Override
     public Magazine apply(Map<String, String> map) {
         return new Magazine(
-                map.get("Titel"),
-                map.get("ISBN-Nummer"),
-                Arrays.asList(map.get("Autor").split(",")),
-                map.get("Erscheinungsdatum"));
+                map.get(TITLE),
+                map.get(ISBN),
+                Arrays.asList(map.get(AUTHORS).split(",")),
+                map.get(PUBLICATION_DATE));
+    }
+
+    @Override
+    public Function<CSVRecord, Magazine> forHeader(Map<String, Integer> headerMap) {
+        int title = column(headerMap, TITLE);
+        int isbn = column(headerMap, ISBN);
+        int authors = column(headerMap, AUTHORS);
+        int publicationDate = column(headerMap, PUBLICATION_DATE);
+        return csvRecord -> new Magazine(
+                value(csvRecord, title),
+                value(csvRecord, isbn),
+                AuthorSplitter.split(value(csvRecord, authors)),
+                value(csvRecord, publicationDate));
     }
-}
\ No newline at end of file
+}
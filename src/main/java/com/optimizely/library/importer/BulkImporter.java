@@ -0,0 +1,105 @@
+package com.optimizely.library.importer;
+
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of documents to Mongo in unordered bulk batches instead of one round trip per document.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkImporter {
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${library.import.batch-size:1000}")
+    private int batchSize;
+
+    public <T> ImportStats insert(Stream<T> documents, Class<T> type) {
+        return write(documents, type, BulkOperations::insert);
+    }
+
+    /**
+     * Splits the items into batches and lets the writer queue the operations of each batch on a fresh unordered
+     * {@link BulkOperations} for the collection of {@code type}.
+     */
+    public <S> ImportStats write(Stream<S> items, Class<?> type, BiConsumer<BulkOperations, List<S>> writer) {
+        return write(items, type, writer, (item, error) -> {
+        });
+    }
+
+    /**
+     * Like {@link #write(Stream, Class, BiConsumer)}, reporting every rejected item to the error handler. The writer has
+     * to queue exactly one operation per item, in batch order, so errors can be traced back to their item.
+     */
+    public <S> ImportStats write(Stream<S> items, Class<?> type, BiConsumer<BulkOperations, List<S>> writer,
+                                 BulkWriteErrorHandler<S> errorHandler) {
+        return write(items, type, writer, errorHandler, written -> {
+        });
+    }
+
+    /**
+     * Like {@link #write(Stream, Class, BiConsumer, BulkWriteErrorHandler)}, handing the items of every batch that the
+     * server accepted to {@code onWritten} once the batch has been executed.
+     */
+    public <S> ImportStats write(Stream<S> items, Class<?> type, BiConsumer<BulkOperations, List<S>> writer,
+                                 BulkWriteErrorHandler<S> errorHandler, Consumer<List<S>> onWritten) {
+        ImportStats stats = new ImportStats(mongoTemplate.getCollectionName(type));
+        List<S> batch = new ArrayList<>(batchSize);
+        Iterator<S> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize) {
+                writeBatch(batch, type, writer, errorHandler, onWritten, stats);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, type, writer, errorHandler, onWritten, stats);
+        }
+        log.info("Imported {}", stats);
+        return stats;
+    }
+
+    private <S> void writeBatch(List<S> batch, Class<?> type, BiConsumer<BulkOperations, List<S>> writer,
+                                BulkWriteErrorHandler<S> errorHandler, Consumer<List<S>> onWritten, ImportStats stats) {
+        long start = System.nanoTime();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        writer.accept(bulkOps, batch);
+        int failures = 0;
+        List<S> written = batch;
+        try {
+            bulkOps.execute();
+        } catch (BulkOperationException e) {
+            failures = e.getErrors().size();
+            log.warn("{} of {} documents in batch #{} for {} were rejected, first error: {}",
+                    failures, batch.size(), stats.getBatches() + 1, stats.getCollection(), e.getErrors().get(0).getMessage());
+            e.getErrors().forEach(error -> errorHandler.onError(batch.get(error.getIndex()), error));
+            Set<Integer> rejected = e.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+            written = IntStream.range(0, batch.size()).filter(index -> !rejected.contains(index)).mapToObj(batch::get).toList();
+        }
+        onWritten.accept(written);
+        long nanos = System.nanoTime() - start;
+        stats.recordBatch(batch.size(), failures, nanos);
+        log.debug("Batch #{} of {} documents into {} took {} ms ({} rows/s)",
+                stats.getBatches(), batch.size(), stats.getCollection(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                nanos == 0 ? 0 : Math.round(batch.size() * 1_000_000_000d / nanos));
+    }
+}
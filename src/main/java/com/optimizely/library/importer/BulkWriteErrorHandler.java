@@ -0,0 +1,11 @@
+package com.optimizely.library.importer;
+
+import com.mongodb.bulk.BulkWriteError;
+
+@FunctionalInterface
+public interface BulkWriteErrorHandler<S> {
+    /**
+     * Called for every item of a batch that the server rejected.
+     */
+    void onError(S item, BulkWriteError error);
+}
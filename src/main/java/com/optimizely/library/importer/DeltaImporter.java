@@ -0,0 +1,155 @@
+package com.optimizely.library.importer;
+
+import com.optimizely.library.model.ImportFingerprint;
+import com.optimizely.library.repository.ImportFingerprintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Imports only what changed since the previous run: every row is fingerprinted by its business key and a hash of
+ * its mapped content, compared with the fingerprints stored by the last import, and only inserts, updates and
+ * deletes for the differing rows are written. Fingerprints are only stored for the rows the server accepted and
+ * only removed once their document was deleted, so rejected rows are written again by the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeltaImporter {
+    private final MongoTemplate mongoTemplate;
+    private final BulkImporter bulkImporter;
+    private final ImportFingerprintRepository fingerprintRepository;
+
+    /**
+     * Rows repeating a key already seen in the file are skipped, so the first row for a key always wins.
+     */
+    public <T> DeltaReport importDelta(Stream<T> documents, Class<T> type, String keyField, Function<T, String> key) {
+        String collection = mongoTemplate.getCollectionName(type);
+        DeltaReport report = new DeltaReport(collection);
+        Map<String, String> stored = new HashMap<>();
+        try (Stream<ImportFingerprint> fingerprints = fingerprintRepository.findByCollection(collection)) {
+            fingerprints.forEach(fingerprint -> stored.put(fingerprint.getKey(), fingerprint.getHash()));
+        }
+
+        MessageDigest digest = sha1();
+        Set<String> seen = new HashSet<>();
+        Stream<Fingerprinted<T>> changed = documents
+                .filter(document -> {
+                    String rowKey = key.apply(document);
+                    if (rowKey == null) {
+                        log.warn("Skipping a {} row without {}", collection, keyField);
+                        return false;
+                    }
+                    if (!seen.add(rowKey)) {
+                        log.warn("Skipping a {} row repeating {} {}", collection, keyField, rowKey);
+                        report.duplicate();
+                        return false;
+                    }
+                    return true;
+                })
+                .map(document -> {
+                    String rowKey = key.apply(document);
+                    return new Fingerprinted<>(document, rowKey, hash(document, digest), stored.remove(rowKey));
+                })
+                .filter(row -> {
+                    if (row.hash().equals(row.previousHash())) {
+                        report.unchanged();
+                        return false;
+                    }
+                    return true;
+                });
+        bulkImporter.write(changed, type,
+                (bulkOps, batch) -> batch.forEach(row -> bulkOps.replaceOne(
+                        Query.query(Criteria.where(keyField).is(row.key())),
+                        row.document(),
+                        FindAndReplaceOptions.options().upsert())),
+                (row, error) -> report.failed(),
+                written -> {
+                    written.forEach(row -> {
+                        if (row.previousHash() != null) {
+                            report.updated();
+                        } else {
+                            report.inserted();
+                        }
+                    });
+                    writeFingerprints(collection, written);
+                });
+
+        bulkImporter.write(stored.keySet().stream(), type,
+                (bulkOps, keys) -> keys.forEach(deleted -> bulkOps.remove(Query.query(Criteria.where(keyField).is(deleted)))),
+                (deleted, error) -> report.failed(),
+                deleted -> {
+                    report.deleted(deleted.size());
+                    removeFingerprints(collection, deleted);
+                });
+
+        log.info("Imported {}", report);
+        return report;
+    }
+
+    /**
+     * Drops the stored fingerprints so the next incremental run compares against nothing, used after a full import.
+     */
+    public void forget(Class<?> type) {
+        fingerprintRepository.deleteByCollection(mongoTemplate.getCollectionName(type));
+    }
+
+    private <T> void writeFingerprints(String collection, List<Fingerprinted<T>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        BulkOperations fingerprintOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ImportFingerprint.class);
+        batch.forEach(row -> {
+            String id = ImportFingerprint.id(collection, row.key());
+            fingerprintOps.replaceOne(
+                    Query.query(Criteria.where("_id").is(id)),
+                    new ImportFingerprint(id, collection, row.key(), row.hash()),
+                    FindAndReplaceOptions.options().upsert());
+        });
+        fingerprintOps.execute();
+    }
+
+    private void removeFingerprints(String collection, List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ImportFingerprint.class)
+                .remove(Query.query(Criteria.where("_id").in(keys.stream().map(key -> ImportFingerprint.id(collection, key)).toList())))
+                .execute();
+    }
+
+    private String hash(Object document, MessageDigest digest) {
+        Document mapped = new Document();
+        mongoTemplate.getConverter().write(document, mapped);
+        return HexFormat.of().formatHex(digest.digest(mapped.toJson().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Fingerprinted<T>(T document, String key, String hash, String previousHash) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.optimizely.library.importer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class DeltaReport {
+    private final String collection;
+    private long inserted;
+    private long updated;
+    private long deleted;
+    private long unchanged;
+    private long failed;
+    private long duplicates;
+
+    void inserted() {
+        inserted++;
+    }
+
+    void updated() {
+        updated++;
+    }
+
+    void unchanged() {
+        unchanged++;
+    }
+
+    void deleted(long count) {
+        deleted += count;
+    }
+
+    void failed() {
+        failed++;
+    }
+
+    void duplicate() {
+        duplicates++;
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaReport {" +
+                "collection='" + collection + '\'' +
+                ", inserted=" + inserted +
+                ", updated=" + updated +
+                ", deleted=" + deleted +
+                ", unchanged=" + unchanged +
+                ", failed=" + failed +
+                ", duplicates=" + duplicates +
+                '}';
+    }
+}
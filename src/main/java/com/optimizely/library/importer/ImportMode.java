@@ -0,0 +1,12 @@
+package com.optimizely.library.importer;
+
+public enum ImportMode {
+    /**
+     * Deletes every document and inserts the whole file again.
+     */
+    FULL,
+    /**
+     * Writes only the rows whose content hash changed and deletes the documents that left the file.
+     */
+    INCREMENTAL
+}
@@ -0,0 +1,50 @@
+package com.optimizely.library.importer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@RequiredArgsConstructor
+public class ImportStats {
+    private final String collection;
+    private long documents;
+    private long failed;
+    private int batches;
+    private long elapsedNanos;
+    private long maxBatchNanos;
+
+    void recordBatch(int size, int failures, long nanos) {
+        documents += size - failures;
+        failed += failures;
+        batches++;
+        elapsedNanos += nanos;
+        maxBatchNanos = Math.max(maxBatchNanos, nanos);
+    }
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : documents * 1_000_000_000d / elapsedNanos;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public long maxBatchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxBatchNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "ImportStats {" +
+                "collection='" + collection + '\'' +
+                ", documents=" + documents +
+                ", failed=" + failed +
+                ", batches=" + batches +
+                ", elapsedMillis=" + elapsedMillis() +
+                ", maxBatchMillis=" + maxBatchMillis() +
+                ", rowsPerSecond=" + Math.round(rowsPerSecond()) +
+                '}';
+    }
+}
@@ -2,10 +2,12 @@ package com.optimizely.library.model;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.index.Indexed;
 
 @RequiredArgsConstructor
 @Getter
 public class Author {
+    @Indexed
     private final String email;
     private final String firstName;
     private final String lastName;
@@ -0,0 +1,34 @@
+package com.optimizely.library.model;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The lowercase copy of the authors stored next to them as {@value #FIELD}, so case-insensitive and prefix lookups
+ * are plain equality and range queries on an index.
+ */
+public final class AuthorKeys {
+    public static final String FIELD = "authorKeys";
+
+    private AuthorKeys() {
+    }
+
+    public static String normalize(String author) {
+        return author.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> of(List<String> authors) {
+        return authors.stream()
+                .map(AuthorKeys::normalize)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * @return the smallest key greater than every key starting with the non-empty {@code prefix}
+     */
+    public static String prefixUpperBound(String prefix) {
+        int last = prefix.length() - 1;
+        return prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+    }
+}
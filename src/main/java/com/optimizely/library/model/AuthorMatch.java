@@ -0,0 +1,10 @@
+package com.optimizely.library.model;
+
+/**
+ * How an author given by a client is compared with the authors of a document.
+ */
+public enum AuthorMatch {
+    EXACT,
+    IGNORE_CASE,
+    PREFIX
+}
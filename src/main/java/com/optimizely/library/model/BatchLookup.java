@@ -0,0 +1,33 @@
+package com.optimizely.library.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Getter
+public class BatchLookup<T> {
+    /**
+     * The items found, in the order their ISBNs were requested.
+     */
+    private final List<T> found;
+    private final List<String> missing;
+
+    public static <T> BatchLookup<T> of(Collection<String> requested, Map<String, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String isbn : requested) {
+            T item = found.get(isbn);
+            if (item == null) {
+                missing.add(isbn);
+            } else {
+                items.add(item);
+            }
+        }
+        return new BatchLookup<>(items, missing);
+    }
+}
@@ -3,16 +3,22 @@ package com.optimizely.library.model;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
 
+@Document(language = "german")
 @RequiredArgsConstructor
 @Getter
 public class Book {
+    @TextIndexed(weight = 3)
     private final String title;
     @Indexed(unique = true)
     private final String isbn;
+    @Indexed
     private final List<String> authors;
+    @TextIndexed
     private final String description;
 
     @Override
@@ -0,0 +1,33 @@
+package com.optimizely.library.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Getter
+public class BulkCreateResult {
+    private final long created;
+    /**
+     * One entry per rejected item, every item not listed here was created.
+     */
+    private final List<BulkCreateError> errors;
+
+    @RequiredArgsConstructor
+    @Getter
+    public static class BulkCreateError {
+        public static final String DUPLICATE_ISBN = "DUPLICATE_ISBN";
+        public static final String MISSING_ISBN = "MISSING_ISBN";
+        public static final String MALFORMED = "MALFORMED";
+        public static final String REJECTED = "REJECTED";
+
+        /**
+         * Position of the item in the request, starting at 0.
+         */
+        private final long index;
+        private final String isbn;
+        private final String error;
+        private final String message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.optimizely.library.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A book or a magazine in a result spanning both collections.
+ */
+@RequiredArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogueItem {
+    public enum Type {
+        BOOK,
+        MAGAZINE
+    }
+
+    private final Type type;
+    private final String title;
+    private final String isbn;
+    private final List<String> authors;
+    private final String description;
+    private final String publicationDate;
+
+    public static CatalogueItem of(Book book) {
+        return new CatalogueItem(Type.BOOK, book.getTitle(), book.getIsbn(), book.getAuthors(), book.getDescription(), null);
+    }
+
+    public static CatalogueItem of(Magazine magazine) {
+        return new CatalogueItem(Type.MAGAZINE, magazine.getTitle(), magazine.getIsbn(), magazine.getAuthors(), null, magazine.getPublicationDate());
+    }
+}
@@ -0,0 +1,15 @@
+package com.optimizely.library.model;
+
+import org.springframework.data.mongodb.core.query.Collation;
+
+import java.util.Locale;
+
+public final class Collations {
+    /**
+     * Locale aware ordering of titles. Queries have to pass the same collation as the index to be able to use it.
+     */
+    public static final Collation GERMAN = Collation.of(Locale.GERMAN);
+
+    private Collations() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.optimizely.library.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+@Getter
+public class CursorPage<T> {
+    private final List<T> items;
+    /**
+     * Opaque token to pass as {@code cursor} for the next page, {@code null} on the last page.
+     */
+    private final String nextCursor;
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,25 @@
+package com.optimizely.library.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link Book} with its author emails resolved to the {@link Author} records, rendered for {@code expand=authors}.
+ */
+@RequiredArgsConstructor
+@Getter
+public class ExpandedBook {
+    private final String title;
+    private final String isbn;
+    private final List<Author> authors;
+    private final String description;
+
+    public static ExpandedBook of(Book book, Function<String, Author> authors) {
+        return new ExpandedBook(book.getTitle(), book.getIsbn(),
+                book.getAuthors() == null ? List.of() : book.getAuthors().stream().filter(Objects::nonNull).map(authors).toList(), book.getDescription());
+    }
+}
@@ -0,0 +1,25 @@
+package com.optimizely.library.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link Magazine} with its author emails resolved to the {@link Author} records, rendered for {@code expand=authors}.
+ */
+@RequiredArgsConstructor
+@Getter
+public class ExpandedMagazine {
+    private final String title;
+    private final String isbn;
+    private final List<Author> authors;
+    private final String publicationDate;
+
+    public static ExpandedMagazine of(Magazine magazine, Function<String, Author> authors) {
+        return new ExpandedMagazine(magazine.getTitle(), magazine.getIsbn(),
+                magazine.getAuthors() == null ? List.of() : magazine.getAuthors().stream().filter(Objects::nonNull).map(authors).toList(), magazine.getPublicationDate());
+    }
+}
@@ -0,0 +1,26 @@
+package com.optimizely.library.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Content hash of the CSV row last imported for a document, keyed by collection and business key.
+ */
+@Document("importFingerprint")
+@RequiredArgsConstructor
+@Getter
+public class ImportFingerprint {
+    @Id
+    private final String id;
+    @Indexed
+    private final String collection;
+    private final String key;
+    private final String hash;
+
+    public static String id(String collection, String key) {
+        return collection + ":" + key;
+    }
+}
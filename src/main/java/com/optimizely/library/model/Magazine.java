@@ -2,14 +2,21 @@ package com.optimizely.library.model;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
 
+@Document(language = "german")
 @RequiredArgsConstructor
 @Getter
 public class Magazine {
+    @TextIndexed
     private final String title;
+    @Indexed(unique = true)
     private final String isbn;
+    @Indexed
     private final List<String> authors;
     private final String publicationDate;
 
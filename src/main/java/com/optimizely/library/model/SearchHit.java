@@ -0,0 +1,14 @@
+package com.optimizely.library.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public class SearchHit<T> {
+    private final T item;
+    /**
+     * Relevance computed by the text index, higher is better.
+     */
+    private final double score;
+}
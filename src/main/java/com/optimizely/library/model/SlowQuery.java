@@ -0,0 +1,34 @@
+package com.optimizely.library.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A read that took longer than the slow-query threshold, with the plan Mongo chose for it.
+ */
+@RequiredArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlowQuery {
+    private final Instant at;
+    private final String database;
+    private final String collection;
+    private final String command;
+    private final long durationMillis;
+    /**
+     * The command with every literal replaced by {@code "?"}, so queries differing only in their values look the same.
+     */
+    private final String shape;
+    /**
+     * The stages of the winning plan from the root down, e.g. {@code [FETCH, IXSCAN]} or {@code [COLLSCAN]}.
+     */
+    private final List<String> plan;
+    private final Long docsExamined;
+    private final Long keysExamined;
+    private final Long returned;
+    private final String explainError;
+}
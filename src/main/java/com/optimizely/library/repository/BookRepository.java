@@ -1,15 +1,52 @@
 package com.optimizely.library.repository;
 
+import com.optimizely.library.model.AuthorKeys;
 import com.optimizely.library.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends MongoRepository<Book, String> {
     Optional<Book> findOneByIsbn(String isbn);
 
+    List<Book> findByIsbnIn(Collection<String> isbns);
+
     List<Book> findByAuthorsContaining(String author);
+
+    List<Book> findByAuthorsContaining(String author, Pageable pageable, Collation collation);
+
+    @Query("{ '" + AuthorKeys.FIELD + "': ?0 }")
+    List<Book> findByAuthorKey(String authorKey);
+
+    @Query("{ '" + AuthorKeys.FIELD + "': { $gte: ?0, $lt: ?1 } }")
+    List<Book> findByAuthorKeyRange(String lowerInclusive, String upperExclusive);
+
+    default List<Book> findByAuthorIgnoreCase(String author) {
+        return findByAuthorKey(AuthorKeys.normalize(author));
+    }
+
+    /**
+     * Case-insensitive prefix match on any of the authors, served by the {@link AuthorKeys#FIELD} index.
+     */
+    default List<Book> findByAuthorStartingWithIgnoreCase(String prefix) {
+        String key = AuthorKeys.normalize(prefix);
+        return findByAuthorKeyRange(key, AuthorKeys.prefixUpperBound(key));
+    }
+
+    List<Book> findByIsbnGreaterThan(String isbn, Pageable pageable);
+
+    Stream<Book> streamAllBy();
+
+    List<Book> findAllBy(Sort sort, Collation collation);
+
+    List<Book> findAllBy(Pageable pageable, Collation collation);
 }
@@ -0,0 +1,14 @@
+package com.optimizely.library.repository;
+
+import com.optimizely.library.model.ImportFingerprint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public interface ImportFingerprintRepository extends MongoRepository<ImportFingerprint, String> {
+    Stream<ImportFingerprint> findByCollection(String collection);
+
+    void deleteByCollection(String collection);
+}
@@ -1,15 +1,52 @@
 package com.optimizely.library.repository;
 
+import com.optimizely.library.model.AuthorKeys;
 import com.optimizely.library.model.Magazine;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MagazineRepository extends MongoRepository<Magazine, String> {
     Optional<Magazine> findOneByIsbn(String isbn);
 
+    List<Magazine> findByIsbnIn(Collection<String> isbns);
+
     List<Magazine> findByAuthorsContaining(String author);
+
+    List<Magazine> findByAuthorsContaining(String author, Pageable pageable, Collation collation);
+
+    @Query("{ '" + AuthorKeys.FIELD + "': ?0 }")
+    List<Magazine> findByAuthorKey(String authorKey);
+
+    @Query("{ '" + AuthorKeys.FIELD + "': { $gte: ?0, $lt: ?1 } }")
+    List<Magazine> findByAuthorKeyRange(String lowerInclusive, String upperExclusive);
+
+    default List<Magazine> findByAuthorIgnoreCase(String author) {
+        return findByAuthorKey(AuthorKeys.normalize(author));
+    }
+
+    /**
+     * Case-insensitive prefix match on any of the authors, served by the {@link AuthorKeys#FIELD} index.
+     */
+    default List<Magazine> findByAuthorStartingWithIgnoreCase(String prefix) {
+        String key = AuthorKeys.normalize(prefix);
+        return findByAuthorKeyRange(key, AuthorKeys.prefixUpperBound(key));
+    }
+
+    List<Magazine> findByIsbnGreaterThan(String isbn, Pageable pageable);
+
+    Stream<Magazine> streamAllBy();
+
+    List<Magazine> findAllBy(Sort sort, Collation collation);
+
+    List<Magazine> findAllBy(Pageable pageable, Collation collation);
 }
@@ -0,0 +1,30 @@
+package com.optimizely.library.repository;
+
+import com.optimizely.library.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non blocking counterpart of {@link BookRepository}, used by the {@code reactive} profile.
+ */
+@Repository
+public interface ReactiveBookRepository extends ReactiveMongoRepository<Book, String> {
+    Mono<Book> findOneByIsbn(String isbn);
+
+    Flux<Book> findByIsbnIn(Collection<String> isbns);
+
+    Flux<Book> findByAuthorsContaining(String author);
+
+    Flux<Book> findByIsbnGreaterThan(String isbn, Pageable pageable);
+
+    Flux<Book> findAllBy(Sort sort, Collation collation);
+
+    Flux<Book> findAllBy(Pageable pageable, Collation collation);
+}
@@ -0,0 +1,30 @@
+package com.optimizely.library.repository;
+
+import com.optimizely.library.model.Magazine;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non blocking counterpart of {@link MagazineRepository}, used by the {@code reactive} profile.
+ */
+@Repository
+public interface ReactiveMagazineRepository extends ReactiveMongoRepository<Magazine, String> {
+    Mono<Magazine> findOneByIsbn(String isbn);
+
+    Flux<Magazine> findByIsbnIn(Collection<String> isbns);
+
+    Flux<Magazine> findByAuthorsContaining(String author);
+
+    Flux<Magazine> findByIsbnGreaterThan(String isbn, Pageable pageable);
+
+    Flux<Magazine> findAllBy(Sort sort, Collation collation);
+
+    Flux<Magazine> findAllBy(Pageable pageable, Collation collation);
+}
@@ -0,0 +1,58 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.AuthorKeys;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.ExpandedBook;
+import com.optimizely.library.model.ExpandedMagazine;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.repository.AuthorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of every author keyed by lowercase email. The author set is small and read by every expanded
+ * response, so it is loaded once and reloaded after each author import instead of being queried per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorDirectory {
+    private final AuthorRepository authorRepository;
+
+    private volatile Map<String, Author> authors;
+
+    /**
+     * Authors without an email cannot be looked up and are left out.
+     */
+    public void refresh() {
+        authors = authorRepository.findAll()
+                .stream()
+                .filter(author -> author.getEmail() != null)
+                .collect(Collectors.toUnmodifiableMap(author -> AuthorKeys.normalize(author.getEmail()), Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * @return the author with the email, or an author with only the email if it is not in the directory
+     */
+    public Author get(String email) {
+        Map<String, Author> snapshot = authors;
+        if (snapshot == null) {
+            refresh();
+            snapshot = authors;
+        }
+        Author author = snapshot.get(AuthorKeys.normalize(email));
+        return author != null ? author : new Author(email, null, null);
+    }
+
+    public ExpandedBook expand(Book book) {
+        return ExpandedBook.of(book, this::get);
+    }
+
+    public ExpandedMagazine expand(Magazine magazine) {
+        return ExpandedMagazine.of(magazine, this::get);
+    }
+}
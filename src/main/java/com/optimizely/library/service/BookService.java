@@ -1,19 +1,66 @@
 package com.optimizely.library.service;
 
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
 import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookService {
 
     Book createBook(Book book);
+
+    /**
+     * Inserts all books in unordered chunks, reporting the rejected ones instead of failing the whole request.
+     */
+    BulkCreateResult createBooks(Stream<Book> books);
+
     List<Book> findAllBooks();
 
+    /**
+     * The variants taking {@code fields} only read those comma separated properties, and the ISBN, from Mongo.
+     */
+    List<Book> findAllBooks(String fields);
+
+    /**
+     * Keyset pagination ordered by ISBN, continuing after the position encoded in {@code cursor}.
+     */
+    CursorPage<Book> findBooks(String cursor, int limit);
+
+    /**
+     * Cursor backed stream over the whole collection, to be closed by the caller.
+     */
+    Stream<Book> streamAllBooks();
+
     Optional<Book> findBookByIsbn(String isbn);
 
+    /**
+     * Resolves several ISBNs with a single query, reporting the ones that do not exist.
+     */
+    BatchLookup<Book> findBooksByIsbns(List<String> isbns);
+
     List<Book> findBooksByAuthor(String author);
 
+    List<Book> findBooksByAuthor(String author, AuthorMatch match);
+
+    List<Book> findBooksByAuthor(String author, String fields);
+
+    /**
+     * Full text search over the text index, best matches first.
+     */
+    List<SearchHit<Book>> searchBooks(String terms, int page, int size);
+
     List<Book> findBooksOrderedByTitle(Order order);
+
+    List<Book> findBooksOrderedByTitle(Order order, int page, int size);
+
+    List<Book> findBooksOrderedByTitle(Order order, String fields);
+
+    List<Book> findBooksOrderedByTitle(Order order, int page, int size, String fields);
 }
@@ -0,0 +1,55 @@
+package com.optimizely.library.service;
+
+import com.mongodb.ErrorCategory;
+import com.optimizely.library.importer.BulkImporter;
+import com.optimizely.library.importer.ImportStats;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.BulkCreateResult.BulkCreateError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Inserts client supplied items with unordered bulk writes in chunks and reports the outcome per item,
+ * shared by the book and magazine bulk create endpoints. A {@code null} item is one that could not be parsed.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkCreator {
+    private final BulkImporter bulkImporter;
+
+    public <T> BulkCreateResult create(Stream<T> items, Class<T> type, Function<T, String> isbn) {
+        List<BulkCreateError> errors = new ArrayList<>();
+        AtomicLong position = new AtomicLong();
+        Stream<Numbered<T>> valid = items
+                .map(item -> new Numbered<>(position.getAndIncrement(), item))
+                .filter(numbered -> {
+                    if (numbered.item() == null) {
+                        errors.add(new BulkCreateError(numbered.index(), null, BulkCreateError.MALFORMED, "not a valid document"));
+                        return false;
+                    }
+                    if (isbn.apply(numbered.item()) == null) {
+                        errors.add(new BulkCreateError(numbered.index(), null, BulkCreateError.MISSING_ISBN, "isbn is required"));
+                        return false;
+                    }
+                    return true;
+                });
+        ImportStats stats = bulkImporter.write(valid, type,
+                (bulkOps, batch) -> bulkOps.insert(batch.stream().map(Numbered::item).toList()),
+                (numbered, error) -> errors.add(new BulkCreateError(
+                        numbered.index(),
+                        isbn.apply(numbered.item()),
+                        ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY ? BulkCreateError.DUPLICATE_ISBN : BulkCreateError.REJECTED,
+                        error.getMessage())));
+        errors.sort((first, second) -> Long.compare(first.getIndex(), second.getIndex()));
+        return new BulkCreateResult(stats.getDocuments(), errors);
+    }
+
+    private record Numbered<T>(long index, T item) {
+    }
+}
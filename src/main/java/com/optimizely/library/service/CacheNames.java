@@ -0,0 +1,13 @@
+package com.optimizely.library.service;
+
+/**
+ * Caches configured through {@code spring.cache.cache-names}. ISBN lookups cache misses as well, so unknown ISBNs
+ * do not reach Mongo either until the entry expires or the ISBN is created.
+ */
+public final class CacheNames {
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+    public static final String MAGAZINES_BY_ISBN = "magazinesByIsbn";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,14 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.CatalogueItem;
+import com.optimizely.library.model.Order;
+
+import java.util.List;
+
+public interface CatalogueService {
+
+    /**
+     * Books and magazines of {@code author} in one list ordered by title, both collections are queried concurrently.
+     */
+    List<CatalogueItem> findByAuthor(String author, Order order, int page, int size);
+}
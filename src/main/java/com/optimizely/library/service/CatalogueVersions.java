@@ -0,0 +1,34 @@
+package com.optimizely.library.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the writes made to each collection so catalogue reads can be answered with a strong ETag. The tag starts
+ * with the time this instance booted, so a restarted instance never reuses the tags of the previous one.
+ * Only writes made through this application are counted.
+ */
+@Component
+public class CatalogueVersions {
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Read it before querying, so a write racing with the query makes the tag stale rather than the response.
+     */
+    public String etag(Class<?> type) {
+        return "\"" + epoch + "-" + version(type).get() + "\"";
+    }
+
+    public void bump(Class<?> type) {
+        version(type).incrementAndGet();
+    }
+
+    private AtomicLong version(Class<?> type) {
+        return versions.computeIfAbsent(type, t -> new AtomicLong());
+    }
+}
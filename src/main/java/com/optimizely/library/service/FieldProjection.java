@@ -0,0 +1,50 @@
+package com.optimizely.library.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs queries reading only the fields a client asked for, so Mongo sends less and the omitted properties are left
+ * out of the JSON response.
+ */
+@Component
+@RequiredArgsConstructor
+public class FieldProjection {
+    private static final String ISBN = "isbn";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * @param fields comma separated property names of {@code type}; the ISBN identifies a document and is always read
+     */
+    public <T> List<T> find(Query query, Class<T> type, String fields) {
+        Field projection = query.fields().exclude("_id");
+        parse(type, fields).forEach(projection::include);
+        return mongoTemplate.find(query, type);
+    }
+
+    private Set<String> parse(Class<?> type, String fields) {
+        PersistentEntity<?, ?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        Set<String> names = new LinkedHashSet<>();
+        names.add(ISBN);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (entity.getPersistentProperty(name) == null) {
+                throw new InvalidQueryException("Unknown field " + name);
+            }
+            names.add(name);
+        }
+        return names;
+    }
+}
@@ -1,20 +1,67 @@
 package com.optimizely.library.service;
 
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Magazine;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MagazineService {
 
     Magazine createMagazine(Magazine magazine);
 
+    /**
+     * Inserts all magazines in unordered chunks, reporting the rejected ones instead of failing the whole request.
+     */
+    BulkCreateResult createMagazines(Stream<Magazine> magazines);
+
+
     List<Magazine> findAllMagazines();
 
+    /**
+     * The variants taking {@code fields} only read those comma separated properties, and the ISBN, from Mongo.
+     */
+    List<Magazine> findAllMagazines(String fields);
+
+    /**
+     * Keyset pagination ordered by ISBN, continuing after the position encoded in {@code cursor}.
+     */
+    CursorPage<Magazine> findMagazines(String cursor, int limit);
+
+    /**
+     * Cursor backed stream over the whole collection, to be closed by the caller.
+     */
+    Stream<Magazine> streamAllMagazines();
+
     Optional<Magazine> findMagazineByIsbn(String isbn);
 
+    /**
+     * Resolves several ISBNs with a single query, reporting the ones that do not exist.
+     */
+    BatchLookup<Magazine> findMagazinesByIsbns(List<String> isbns);
+
     List<Magazine> findMagazinesByAuthor(String author);
 
+    List<Magazine> findMagazinesByAuthor(String author, AuthorMatch match);
+
+    List<Magazine> findMagazinesByAuthor(String author, String fields);
+
+    /**
+     * Full text search over the text index, best matches first.
+     */
+    List<SearchHit<Magazine>> searchMagazines(String terms, int page, int size);
+
     List<Magazine> findMagazinesOrderedByTitle(Order order);
+
+    List<Magazine> findMagazinesOrderedByTitle(Order order, int page, int size);
+
+    List<Magazine> findMagazinesOrderedByTitle(Order order, String fields);
+
+    List<Magazine> findMagazinesOrderedByTitle(Order order, int page, int size, String fields);
 }
@@ -0,0 +1,64 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagination helpers. For keyset pagination a cursor is the opaque, URL safe encoding of the last seek key of the
+ * previous page.
+ */
+public final class Pagination {
+    public static final int MAX_LIMIT = 1000;
+
+    private Pagination() {
+    }
+
+    public static Pageable pageRequest(int page, int size, Sort sort) {
+        if (page < 0 || size < 1 || size > MAX_LIMIT) {
+            throw new InvalidQueryException("page has to be positive and size between 1 and " + MAX_LIMIT);
+        }
+        return PageRequest.of(page, size, sort);
+    }
+
+    public static String encode(String seekKey) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(seekKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the seek key to continue after, the empty string (lower than every key) for the first page
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return "";
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Invalid cursor " + cursor);
+        }
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidQueryException("limit has to be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    /**
+     * Builds the page from a query that fetched {@code limit + 1} items, the extra one only signalling a next page.
+     */
+    public static <T> CursorPage<T> page(List<T> items, int limit, Function<T, String> seekKey) {
+        if (items.size() <= limit) {
+            return new CursorPage<>(items, null);
+        }
+        List<T> page = items.subList(0, limit);
+        return new CursorPage<>(page, encode(seekKey.apply(page.get(limit - 1))));
+    }
+}
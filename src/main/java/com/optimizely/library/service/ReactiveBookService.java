@@ -0,0 +1,47 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.Order;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non blocking counterpart of {@link BookService}, used by the {@code reactive} profile.
+ */
+public interface ReactiveBookService {
+
+    Mono<Book> createBook(Book book);
+
+    /**
+     * Inserts all books in unordered chunks, reporting the rejected ones instead of failing the whole request.
+     */
+    Mono<BulkCreateResult> createBooks(Flux<Book> books);
+
+    /**
+     * Emits the whole collection from a cursor, one document at a time.
+     */
+    Flux<Book> findAllBooks();
+
+    /**
+     * Keyset pagination ordered by ISBN, continuing after the position encoded in {@code cursor}.
+     */
+    Mono<CursorPage<Book>> findBooks(String cursor, int limit);
+
+    Mono<Book> findBookByIsbn(String isbn);
+
+    /**
+     * Resolves several ISBNs with a single query, reporting the ones that do not exist.
+     */
+    Mono<BatchLookup<Book>> findBooksByIsbns(List<String> isbns);
+
+    Flux<Book> findBooksByAuthor(String author);
+
+    Flux<Book> findBooksOrderedByTitle(Order order);
+
+    Flux<Book> findBooksOrderedByTitle(Order order, int page, int size);
+}
@@ -0,0 +1,49 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.BulkCreateResult.BulkCreateError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Feeds a {@link Flux} of client supplied items to the {@link BulkCreator} chunk by chunk. The bulk write path is
+ * blocking, so every chunk is written on the bounded elastic scheduler and never on an event loop thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveBulkCreator {
+    private final BulkCreator bulkCreator;
+
+    @Value("${library.import.batch-size:1000}")
+    private int batchSize;
+
+    public <T> Mono<BulkCreateResult> create(Flux<T> items, Class<T> type, Function<T, String> isbn) {
+        return items.buffer(batchSize)
+                .index()
+                .concatMap(chunk -> Mono.fromCallable(() -> shift(bulkCreator.create(chunk.getT2().stream(), type, isbn), chunk.getT1() * batchSize))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .reduce(new BulkCreateResult(0, List.of()), ReactiveBulkCreator::merge);
+    }
+
+    private static BulkCreateResult shift(BulkCreateResult result, long offset) {
+        return new BulkCreateResult(result.getCreated(), result.getErrors()
+                .stream()
+                .map(error -> new BulkCreateError(error.getIndex() + offset, error.getIsbn(), error.getError(), error.getMessage()))
+                .toList());
+    }
+
+    private static BulkCreateResult merge(BulkCreateResult first, BulkCreateResult second) {
+        return new BulkCreateResult(first.getCreated() + second.getCreated(),
+                Stream.concat(first.getErrors().stream(), second.getErrors().stream()).toList());
+    }
+}
@@ -0,0 +1,47 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.model.Order;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non blocking counterpart of {@link MagazineService}, used by the {@code reactive} profile.
+ */
+public interface ReactiveMagazineService {
+
+    Mono<Magazine> createMagazine(Magazine magazine);
+
+    /**
+     * Inserts all magazines in unordered chunks, reporting the rejected ones instead of failing the whole request.
+     */
+    Mono<BulkCreateResult> createMagazines(Flux<Magazine> magazines);
+
+    /**
+     * Emits the whole collection from a cursor, one document at a time.
+     */
+    Flux<Magazine> findAllMagazines();
+
+    /**
+     * Keyset pagination ordered by ISBN, continuing after the position encoded in {@code cursor}.
+     */
+    Mono<CursorPage<Magazine>> findMagazines(String cursor, int limit);
+
+    Mono<Magazine> findMagazineByIsbn(String isbn);
+
+    /**
+     * Resolves several ISBNs with a single query, reporting the ones that do not exist.
+     */
+    Mono<BatchLookup<Magazine>> findMagazinesByIsbns(List<String> isbns);
+
+    Flux<Magazine> findMagazinesByAuthor(String author);
+
+    Flux<Magazine> findMagazinesOrderedByTitle(Order order);
+
+    Flux<Magazine> findMagazinesOrderedByTitle(Order order, int page, int size);
+}
@@ -0,0 +1,41 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.SearchHit;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs {@code $text} queries against the text index declared with {@code @TextIndexed} on a document, shared by the
+ * book and magazine search.
+ */
+@Component
+@RequiredArgsConstructor
+public class TextSearcher {
+    private static final String SCORE = "score";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * @return the matches ordered by relevance, ISBN breaks ties so pages are stable
+     */
+    public <T> List<SearchHit<T>> search(Class<T> type, String terms, int page, int size) {
+        if (terms == null || terms.isBlank()) {
+            throw new InvalidQueryException("q must not be empty");
+        }
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(terms))
+                .sortByScore()
+                .includeScore(SCORE);
+        query.with(Pagination.pageRequest(page, size, Sort.by("isbn")));
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(type))
+                .stream()
+                .map(document -> new SearchHit<>(mongoTemplate.getConverter().read(type, document), document.getDouble(SCORE)))
+                .toList();
+    }
+}
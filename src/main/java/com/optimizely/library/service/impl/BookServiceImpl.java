@@ -1,24 +1,69 @@
 package com.optimizely.library.service.impl;
 
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
 import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.Collations;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
 import com.optimizely.library.repository.BookRepository;
 import com.optimizely.library.service.BookService;
+import com.optimizely.library.service.BulkCreator;
+import com.optimizely.library.service.CacheNames;
+import com.optimizely.library.service.CatalogueVersions;
+import com.optimizely.library.service.FieldProjection;
+import com.optimizely.library.service.InvalidQueryException;
+import com.optimizely.library.service.Pagination;
+import com.optimizely.library.service.TextSearcher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
+    private final BulkCreator bulkCreator;
+    private final TextSearcher textSearcher;
+    private final FieldProjection fieldProjection;
+    private final CatalogueVersions catalogueVersions;
+
+    @Value("${library.lookup.max-batch-size:100}")
+    private int maxBatchSize;
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.BOOKS_BY_ISBN, key = "#book.isbn", condition = "#book.isbn != null")
     public Book createBook(Book book) {
-        return bookRepository.insert(book);
+        Book created = bookRepository.insert(book);
+        catalogueVersions.bump(Book.class);
+        return created;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.BOOKS_BY_ISBN, allEntries = true)
+    public BulkCreateResult createBooks(Stream<Book> books) {
+        try {
+            return bulkCreator.create(books, Book.class, Book::getIsbn);
+        } finally {
+            catalogueVersions.bump(Book.class);
+        }
     }
 
     @Override
@@ -27,19 +72,89 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    public List<Book> findAllBooks(String fields) {
+        return fieldProjection.find(new Query(), Book.class, fields);
+    }
+
+    @Override
+    public CursorPage<Book> findBooks(String cursor, int limit) {
+        Pagination.checkLimit(limit);
+        List<Book> books = bookRepository.findByIsbnGreaterThan(Pagination.decode(cursor), PageRequest.of(0, limit + 1, Sort.by("isbn")));
+        return Pagination.page(books, limit, Book::getIsbn);
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return bookRepository.streamAllBy();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheNames.BOOKS_BY_ISBN)
     public Optional<Book> findBookByIsbn(String isbn) {
         return bookRepository.findOneByIsbn(isbn);
     }
 
+    @Override
+    public BatchLookup<Book> findBooksByIsbns(List<String> isbns) {
+        Set<String> requested = new LinkedHashSet<>(isbns);
+        if (requested.size() > maxBatchSize) {
+            throw new InvalidQueryException("At most " + maxBatchSize + " ISBNs can be looked up at once");
+        }
+        Map<String, Book> found = bookRepository.findByIsbnIn(requested)
+                .stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity(), (first, second) -> first));
+        return BatchLookup.of(requested, found);
+    }
+
     @Override
     public List<Book> findBooksByAuthor(String author) {
         return bookRepository.findByAuthorsContaining(author);
     }
 
+    @Override
+    public List<Book> findBooksByAuthor(String author, AuthorMatch match) {
+        if (author.isBlank()) {
+            throw new InvalidQueryException("author must not be empty");
+        }
+        return switch (match) {
+            case EXACT -> findBooksByAuthor(author);
+            case IGNORE_CASE -> bookRepository.findByAuthorIgnoreCase(author);
+            case PREFIX -> bookRepository.findByAuthorStartingWithIgnoreCase(author);
+        };
+    }
+
+    @Override
+    public List<Book> findBooksByAuthor(String author, String fields) {
+        return fieldProjection.find(Query.query(Criteria.where("authors").is(author)), Book.class, fields);
+    }
+
+    @Override
+    public List<SearchHit<Book>> searchBooks(String terms, int page, int size) {
+        return textSearcher.search(Book.class, terms, page, size);
+    }
+
     @Override
     public List<Book> findBooksOrderedByTitle(Order order) {
-        Sort sort = Sort.by("title");
-        Sort sortWithDirection = order.equals(Order.ASC) ? sort.ascending() : sort.descending();
-        return bookRepository.findAll(sortWithDirection);
+        return bookRepository.findAllBy(titleSort(order), Collations.GERMAN);
+    }
+
+    @Override
+    public List<Book> findBooksOrderedByTitle(Order order, int page, int size) {
+        return bookRepository.findAllBy(Pagination.pageRequest(page, size, titleSort(order)), Collations.GERMAN);
+    }
+
+    @Override
+    public List<Book> findBooksOrderedByTitle(Order order, String fields) {
+        return fieldProjection.find(new Query().with(titleSort(order)).collation(Collations.GERMAN), Book.class, fields);
+    }
+
+    @Override
+    public List<Book> findBooksOrderedByTitle(Order order, int page, int size, String fields) {
+        return fieldProjection.find(new Query().with(Pagination.pageRequest(page, size, titleSort(order))).collation(Collations.GERMAN), Book.class, fields);
+    }
+
+    private static Sort titleSort(Order order) {
+        Sort sort = Sort.by("title", "isbn");
+        return order.equals(Order.ASC) ? sort.ascending() : sort.descending();
     }
 }
@@ -0,0 +1,125 @@
+package com.optimizely.library.service.impl;
+
+import com.optimizely.library.model.CatalogueItem;
+import com.optimizely.library.model.Collations;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.repository.BookRepository;
+import com.optimizely.library.repository.MagazineRepository;
+import com.optimizely.library.service.CatalogueService;
+import com.optimizely.library.service.InvalidQueryException;
+import com.optimizely.library.service.Pagination;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class CatalogueServiceImpl implements CatalogueService {
+    private final BookRepository bookRepository;
+    private final MagazineRepository magazineRepository;
+    private final Executor executor;
+
+    public CatalogueServiceImpl(BookRepository bookRepository, MagazineRepository magazineRepository,
+                                @Value("${library.catalogue.search.threads:8}") int threads,
+                                @Value("${library.catalogue.search.queue:64}") int queue) {
+        this.bookRepository = bookRepository;
+        this.magazineRepository = magazineRepository;
+        this.executor = searchExecutor(threads, queue);
+    }
+
+    /**
+     * The search has its own pool, so long running work on the application task executor, such as the NDJSON
+     * exports, cannot hold it up. Once the pool and its queue are full the request thread runs the query itself.
+     */
+    private static Executor searchExecutor(int threads, int queue) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("catalogue-search-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queue),
+                threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Any page of the merged list is made of the first {@code (page + 1) * size} items of each collection, so that
+     * many are fetched from both and merged; the window is capped like every other page size.
+     */
+    @Override
+    public List<CatalogueItem> findByAuthor(String author, Order order, int page, int size) {
+        Sort sort = titleSort(order);
+        Pagination.pageRequest(page, size, sort);
+        long window = (long) (page + 1) * size;
+        if (window > Pagination.MAX_LIMIT) {
+            throw new InvalidQueryException("page and size may not reach beyond the first " + Pagination.MAX_LIMIT + " results");
+        }
+        Pageable head = PageRequest.of(0, (int) window, sort);
+        CompletableFuture<List<CatalogueItem>> books = CompletableFuture.supplyAsync(() -> bookRepository
+                .findByAuthorsContaining(author, head, Collations.GERMAN)
+                .stream()
+                .map(CatalogueItem::of)
+                .toList(), executor);
+        CompletableFuture<List<CatalogueItem>> magazines = CompletableFuture.supplyAsync(() -> magazineRepository
+                .findByAuthorsContaining(author, head, Collations.GERMAN)
+                .stream()
+                .map(CatalogueItem::of)
+                .toList(), executor);
+        try {
+            return books.thenCombine(magazines, (first, second) -> merge(first, second, titleOrder(order)))
+                    .join()
+                    .stream()
+                    .skip((long) page * size)
+                    .limit(size)
+                    .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Sort titleSort(Order order) {
+        Sort sort = Sort.by("title", "isbn");
+        return order.equals(Order.ASC) ? sort.ascending() : sort.descending();
+    }
+
+    /**
+     * Merges two lists Mongo already sorted with {@link Collations#GERMAN}. Only their heads are compared, so the
+     * items of each collection keep exactly the order Mongo gave them, and with it the order of the per-collection
+     * pages; the in-memory ordering only decides how the two are interleaved.
+     */
+    static List<CatalogueItem> merge(List<CatalogueItem> first, List<CatalogueItem> second, Comparator<CatalogueItem> order) {
+        List<CatalogueItem> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            merged.add(order.compare(first.get(i), second.get(j)) <= 0 ? first.get(i++) : second.get(j++));
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
+
+    /**
+     * The in-memory counterpart of {@link #titleSort(Order)} with {@link Collations#GERMAN}. The JDK collator is close
+     * to, but not the same as, the ICU collation of Mongo (e.g. for punctuation), so it is only used to interleave
+     * the collections by {@link #merge}. Like in Mongo, a missing title sorts before every other one.
+     */
+    static Comparator<CatalogueItem> titleOrder(Order order) {
+        Comparator<CatalogueItem> comparator = Comparator.comparing(CatalogueItem::getTitle, Comparator.nullsFirst(Collator.getInstance(Locale.GERMAN)))
+                .thenComparing(CatalogueItem::getIsbn, Comparator.nullsFirst(Comparator.naturalOrder()));
+        return order.equals(Order.ASC) ? comparator : comparator.reversed();
+    }
+}
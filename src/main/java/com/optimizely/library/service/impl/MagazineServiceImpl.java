@@ -1,24 +1,69 @@
 package com.optimizely.library.service.impl;
 
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.Collations;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Magazine;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
 import com.optimizely.library.repository.MagazineRepository;
+import com.optimizely.library.service.BulkCreator;
+import com.optimizely.library.service.CacheNames;
+import com.optimizely.library.service.CatalogueVersions;
+import com.optimizely.library.service.FieldProjection;
+import com.optimizely.library.service.InvalidQueryException;
 import com.optimizely.library.service.MagazineService;
+import com.optimizely.library.service.Pagination;
+import com.optimizely.library.service.TextSearcher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class MagazineServiceImpl implements MagazineService {
     private final MagazineRepository magazineRepository;
+    private final BulkCreator bulkCreator;
+    private final TextSearcher textSearcher;
+    private final FieldProjection fieldProjection;
+    private final CatalogueVersions catalogueVersions;
+
+    @Value("${library.lookup.max-batch-size:100}")
+    private int maxBatchSize;
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.MAGAZINES_BY_ISBN, key = "#magazine.isbn", condition = "#magazine.isbn != null")
     public Magazine createMagazine(Magazine magazine) {
-        return magazineRepository.insert(magazine);
+        Magazine created = magazineRepository.insert(magazine);
+        catalogueVersions.bump(Magazine.class);
+        return created;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.MAGAZINES_BY_ISBN, allEntries = true)
+    public BulkCreateResult createMagazines(Stream<Magazine> magazines) {
+        try {
+            return bulkCreator.create(magazines, Magazine.class, Magazine::getIsbn);
+        } finally {
+            catalogueVersions.bump(Magazine.class);
+        }
     }
 
     @Override
@@ -27,19 +72,89 @@ public class MagazineServiceImpl implements MagazineService {
     }
 
     @Override
+    public List<Magazine> findAllMagazines(String fields) {
+        return fieldProjection.find(new Query(), Magazine.class, fields);
+    }
+
+    @Override
+    public CursorPage<Magazine> findMagazines(String cursor, int limit) {
+        Pagination.checkLimit(limit);
+        List<Magazine> magazines = magazineRepository.findByIsbnGreaterThan(Pagination.decode(cursor), PageRequest.of(0, limit + 1, Sort.by("isbn")));
+        return Pagination.page(magazines, limit, Magazine::getIsbn);
+    }
+
+    @Override
+    public Stream<Magazine> streamAllMagazines() {
+        return magazineRepository.streamAllBy();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheNames.MAGAZINES_BY_ISBN)
     public Optional<Magazine> findMagazineByIsbn(String isbn) {
         return magazineRepository.findOneByIsbn(isbn);
     }
 
+    @Override
+    public BatchLookup<Magazine> findMagazinesByIsbns(List<String> isbns) {
+        Set<String> requested = new LinkedHashSet<>(isbns);
+        if (requested.size() > maxBatchSize) {
+            throw new InvalidQueryException("At most " + maxBatchSize + " ISBNs can be looked up at once");
+        }
+        Map<String, Magazine> found = magazineRepository.findByIsbnIn(requested)
+                .stream()
+                .collect(Collectors.toMap(Magazine::getIsbn, Function.identity(), (first, second) -> first));
+        return BatchLookup.of(requested, found);
+    }
+
     @Override
     public List<Magazine> findMagazinesByAuthor(String author) {
         return magazineRepository.findByAuthorsContaining(author);
     }
 
+    @Override
+    public List<Magazine> findMagazinesByAuthor(String author, AuthorMatch match) {
+        if (author.isBlank()) {
+            throw new InvalidQueryException("author must not be empty");
+        }
+        return switch (match) {
+            case EXACT -> findMagazinesByAuthor(author);
+            case IGNORE_CASE -> magazineRepository.findByAuthorIgnoreCase(author);
+            case PREFIX -> magazineRepository.findByAuthorStartingWithIgnoreCase(author);
+        };
+    }
+
+    @Override
+    public List<Magazine> findMagazinesByAuthor(String author, String fields) {
+        return fieldProjection.find(Query.query(Criteria.where("authors").is(author)), Magazine.class, fields);
+    }
+
+    @Override
+    public List<SearchHit<Magazine>> searchMagazines(String terms, int page, int size) {
+        return textSearcher.search(Magazine.class, terms, page, size);
+    }
+
     @Override
     public List<Magazine> findMagazinesOrderedByTitle(Order order) {
-        Sort sort = Sort.by("title");
-        Sort sortWithDirection = order.equals(Order.ASC) ? sort.ascending() : sort.descending();
-        return magazineRepository.findAll(sortWithDirection);
+        return magazineRepository.findAllBy(titleSort(order), Collations.GERMAN);
+    }
+
+    @Override
+    public List<Magazine> findMagazinesOrderedByTitle(Order order, int page, int size) {
+        return magazineRepository.findAllBy(Pagination.pageRequest(page, size, titleSort(order)), Collations.GERMAN);
+    }
+
+    @Override
+    public List<Magazine> findMagazinesOrderedByTitle(Order order, String fields) {
+        return fieldProjection.find(new Query().with(titleSort(order)).collation(Collations.GERMAN), Magazine.class, fields);
+    }
+
+    @Override
+    public List<Magazine> findMagazinesOrderedByTitle(Order order, int page, int size, String fields) {
+        return fieldProjection.find(new Query().with(Pagination.pageRequest(page, size, titleSort(order))).collation(Collations.GERMAN), Magazine.class, fields);
+    }
+
+    private static Sort titleSort(Order order) {
+        Sort sort = Sort.by("title", "isbn");
+        return order.equals(Order.ASC) ? sort.ascending() : sort.descending();
     }
 }
@@ -0,0 +1,97 @@
+package com.optimizely.library.service.impl;
+
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.Collations;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.repository.ReactiveBookRepository;
+import com.optimizely.library.service.InvalidQueryException;
+import com.optimizely.library.service.Pagination;
+import com.optimizely.library.service.ReactiveBookService;
+import com.optimizely.library.service.ReactiveBulkCreator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+    private final ReactiveBookRepository bookRepository;
+    private final ReactiveBulkCreator bulkCreator;
+
+    @Value("${library.lookup.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Override
+    public Mono<Book> createBook(Book book) {
+        return bookRepository.insert(book);
+    }
+
+    @Override
+    public Mono<BulkCreateResult> createBooks(Flux<Book> books) {
+        return bulkCreator.create(books, Book.class, Book::getIsbn);
+    }
+
+    @Override
+    public Flux<Book> findAllBooks() {
+        return bookRepository.findAll();
+    }
+
+    @Override
+    public Mono<CursorPage<Book>> findBooks(String cursor, int limit) {
+        return Mono.defer(() -> {
+            Pagination.checkLimit(limit);
+            return bookRepository.findByIsbnGreaterThan(Pagination.decode(cursor), PageRequest.of(0, limit + 1, Sort.by("isbn")))
+                    .collectList()
+                    .map(books -> Pagination.page(books, limit, Book::getIsbn));
+        });
+    }
+
+    @Override
+    public Mono<Book> findBookByIsbn(String isbn) {
+        return bookRepository.findOneByIsbn(isbn);
+    }
+
+    @Override
+    public Mono<BatchLookup<Book>> findBooksByIsbns(List<String> isbns) {
+        Set<String> requested = new LinkedHashSet<>(isbns);
+        if (requested.size() > maxBatchSize) {
+            return Mono.error(new InvalidQueryException("At most " + maxBatchSize + " ISBNs can be looked up at once"));
+        }
+        return bookRepository.findByIsbnIn(requested)
+                .collectMap(Book::getIsbn)
+                .map(found -> BatchLookup.of(requested, found));
+    }
+
+    @Override
+    public Flux<Book> findBooksByAuthor(String author) {
+        return bookRepository.findByAuthorsContaining(author);
+    }
+
+    @Override
+    public Flux<Book> findBooksOrderedByTitle(Order order) {
+        return bookRepository.findAllBy(titleSort(order), Collations.GERMAN);
+    }
+
+    @Override
+    public Flux<Book> findBooksOrderedByTitle(Order order, int page, int size) {
+        return Flux.defer(() -> bookRepository.findAllBy(Pagination.pageRequest(page, size, titleSort(order)), Collations.GERMAN));
+    }
+
+    private static Sort titleSort(Order order) {
+        Sort sort = Sort.by("title", "isbn");
+        return order.equals(Order.ASC) ? sort.ascending() : sort.descending();
+    }
+}
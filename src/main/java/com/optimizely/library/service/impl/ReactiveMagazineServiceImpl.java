@@ -0,0 +1,97 @@
+package com.optimizely.library.service.impl;
+
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.Collations;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.repository.ReactiveMagazineRepository;
+import com.optimizely.library.service.InvalidQueryException;
+import com.optimizely.library.service.Pagination;
+import com.optimizely.library.service.ReactiveBulkCreator;
+import com.optimizely.library.service.ReactiveMagazineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveMagazineServiceImpl implements ReactiveMagazineService {
+    private final ReactiveMagazineRepository magazineRepository;
+    private final ReactiveBulkCreator bulkCreator;
+
+    @Value("${library.lookup.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Override
+    public Mono<Magazine> createMagazine(Magazine magazine) {
+        return magazineRepository.insert(magazine);
+    }
+
+    @Override
+    public Mono<BulkCreateResult> createMagazines(Flux<Magazine> magazines) {
+        return bulkCreator.create(magazines, Magazine.class, Magazine::getIsbn);
+    }
+
+    @Override
+    public Flux<Magazine> findAllMagazines() {
+        return magazineRepository.findAll();
+    }
+
+    @Override
+    public Mono<CursorPage<Magazine>> findMagazines(String cursor, int limit) {
+        return Mono.defer(() -> {
+            Pagination.checkLimit(limit);
+            return magazineRepository.findByIsbnGreaterThan(Pagination.decode(cursor), PageRequest.of(0, limit + 1, Sort.by("isbn")))
+                    .collectList()
+                    .map(magazines -> Pagination.page(magazines, limit, Magazine::getIsbn));
+        });
+    }
+
+    @Override
+    public Mono<Magazine> findMagazineByIsbn(String isbn) {
+        return magazineRepository.findOneByIsbn(isbn);
+    }
+
+    @Override
+    public Mono<BatchLookup<Magazine>> findMagazinesByIsbns(List<String> isbns) {
+        Set<String> requested = new LinkedHashSet<>(isbns);
+        if (requested.size() > maxBatchSize) {
+            return Mono.error(new InvalidQueryException("At most " + maxBatchSize + " ISBNs can be looked up at once"));
+        }
+        return magazineRepository.findByIsbnIn(requested)
+                .collectMap(Magazine::getIsbn)
+                .map(found -> BatchLookup.of(requested, found));
+    }
+
+    @Override
+    public Flux<Magazine> findMagazinesByAuthor(String author) {
+        return magazineRepository.findByAuthorsContaining(author);
+    }
+
+    @Override
+    public Flux<Magazine> findMagazinesOrderedByTitle(Order order) {
+        return magazineRepository.findAllBy(titleSort(order), Collations.GERMAN);
+    }
+
+    @Override
+    public Flux<Magazine> findMagazinesOrderedByTitle(Order order, int page, int size) {
+        return Flux.defer(() -> magazineRepository.findAllBy(Pagination.pageRequest(page, size, titleSort(order)), Collations.GERMAN));
+    }
+
+    private static Sort titleSort(Order order) {
+        Sort sort = Sort.by("title", "isbn");
+        return order.equals(Order.ASC) ? sort.ascending() : sort.descending();
+    }
+}
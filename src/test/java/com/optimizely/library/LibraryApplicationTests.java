@@ -1,13 +1,27 @@
 package com.optimizely.library;
 
+import com.optimizely.library.service.ReactiveBookService;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class LibraryApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void shouldNotStartTheReactiveStackWithoutItsProfile() {
+		assertTrue(context.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class).length == 0);
+		assertTrue(context.getBeanNamesForType(ReactiveBookService.class).length == 0);
+	}
+
 }
@@ -0,0 +1,145 @@
+package com.optimizely.library.config;
+
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.AuthorKeys;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Collations;
+import com.optimizely.library.model.Magazine;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks with explain() that the indexes created by the change log are used by the repository queries.
+ */
+@SpringBootTest(properties = "mongock.enabled=true")
+public class IndexChangeLogTest {
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    {
+        mongoDBContainer.start();
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    public void beforeEachTest() {
+        mongoTemplate.remove(new Query(), Book.class);
+        mongoTemplate.remove(new Query(), Magazine.class);
+        mongoTemplate.remove(new Query(), Author.class);
+        mongoTemplate.insert(List.of(
+                new Book("a title", "111-234-340", List.of("author1@library.com", "autho2@libraray.com"), "a good book"),
+                new Book("z title", "112-234-341", List.of("author3@library.com", "autho2@libraray.com"), "a good book")), Book.class);
+        mongoTemplate.insert(List.of(
+                new Magazine("a title", "111-234-340", List.of("author1@library.com"), "01-01-2022"),
+                new Magazine("z title", "112-234-341", List.of("author3@library.com"), "01-01-2022")), Magazine.class);
+        mongoTemplate.insert(new Author("author1@library.com", "Paul", "Walter"));
+    }
+
+    @Test
+    public void given_isbn_shouldUseIndex() {
+        assertIndexScan(explain("book", new Document("isbn", "111-234-340"), null, null));
+        assertIndexScan(explain("magazine", new Document("isbn", "111-234-340"), null, null));
+    }
+
+    @Test
+    public void given_author_shouldUseMultikeyIndex() {
+        assertIndexScan(explain("book", new Document("authors", "author1@library.com"), null, null));
+        assertIndexScan(explain("magazine", new Document("authors", "author1@library.com"), null, null));
+    }
+
+    @Test
+    public void given_authorKeyRange_shouldUseIndex() {
+        Document prefix = new Document(AuthorKeys.FIELD, new Document("$gte", "author").append("$lt", "authos"));
+        assertIndexScan(explain("book", prefix, null, null));
+        assertIndexScan(explain("magazine", prefix, null, null));
+    }
+
+    @Test
+    public void given_paddedMixedCaseAuthor_shouldBackfillTheKeysTheListenerWrites() {
+        //given
+        List<String> authors = List.of(" Author1@Library.com ", "author1@library.com");
+        mongoTemplate.getCollection("book").insertOne(new Document("isbn", "113-234-342").append("authors", authors));
+
+        //when
+        IndexChangeLog.backfillAuthorKeys(mongoTemplate);
+
+        //then
+        Document book = mongoTemplate.getCollection("book").find(new Document("isbn", "113-234-342")).first();
+        assertEquals(AuthorKeys.of(authors), book.getList(AuthorKeys.FIELD, String.class));
+    }
+
+    @Test
+    public void given_email_shouldUseIndex() {
+        assertIndexScan(explain("author", new Document("email", "author1@library.com"), null, null));
+    }
+
+    @Test
+    public void given_titleSortWithCollation_shouldUseIndex() {
+        Document sort = new Document("title", -1).append("isbn", -1);
+        Document collation = Collations.GERMAN.toDocument();
+        String plan = explain("book", new Document(), sort, collation);
+        assertIndexScan(plan);
+        assertFalse(plan.contains("\"SORT\""), plan);
+        assertIndexScan(explain("magazine", new Document(), sort, collation));
+    }
+
+    @Test
+    public void given_authorWithTitleSortAndCollation_shouldUseCompoundIndex() {
+        Document author = new Document("authors", "author1@library.com");
+        Document sort = new Document("title", 1).append("isbn", 1);
+        Document collation = Collations.GERMAN.toDocument();
+        for (String collection : List.of("book", "magazine")) {
+            String plan = explain(collection, author, sort, collation);
+            assertIndexScan(plan);
+            assertTrue(plan.contains("authors_title_isbn_de"), plan);
+            assertFalse(plan.contains("\"SORT\""), plan);
+        }
+    }
+
+    @Test
+    public void given_textSearch_shouldUseTextIndex() {
+        Document text = new Document("$text", new Document("$search", "title"));
+        String plan = explain("book", text, null, null);
+        assertTrue(plan.contains("TEXT"), plan);
+        assertFalse(plan.contains("COLLSCAN"), plan);
+        assertTrue(explain("magazine", text, null, null).contains("TEXT"));
+    }
+
+    private String explain(String collection, Document filter, Document sort, Document collation) {
+        Document find = new Document("find", collection).append("filter", filter);
+        if (sort != null) {
+            find.append("sort", sort);
+        }
+        if (collation != null) {
+            find.append("collation", collation);
+        }
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+    }
+
+    private static void assertIndexScan(String winningPlan) {
+        assertTrue(winningPlan.contains("IXSCAN"), winningPlan);
+        assertFalse(winningPlan.contains("COLLSCAN"), winningPlan);
+    }
+}
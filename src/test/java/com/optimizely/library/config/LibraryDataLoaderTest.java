@@ -0,0 +1,107 @@
+package com.optimizely.library.config;
+
+import com.optimizely.library.csv.CSVDataLoader;
+import com.optimizely.library.importer.DeltaImporter;
+import com.optimizely.library.importer.ImportMode;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.service.AuthorDirectory;
+import com.optimizely.library.service.CatalogueVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class LibraryDataLoaderTest {
+    private final CatalogueImportHealthIndicator importHealth = new CatalogueImportHealthIndicator();
+    private final DeltaImporter deltaImporter = mock(DeltaImporter.class);
+    private final LibraryDataLoader loader = new LibraryDataLoader();
+
+    @BeforeEach
+    void setUp() {
+        loader.csvDataLoader = new CSVDataLoader();
+        loader.deltaImporter = deltaImporter;
+        loader.importHealth = importHealth;
+        loader.cacheManager = new ConcurrentMapCacheManager();
+        loader.authorDirectory = mock(AuthorDirectory.class);
+        loader.catalogueVersions = new CatalogueVersions();
+        ReflectionTestUtils.setField(loader, "importEnabled", true);
+        ReflectionTestUtils.setField(loader, "importThreads", 3);
+        ReflectionTestUtils.setField(loader, "importMode", ImportMode.INCREMENTAL);
+        ReflectionTestUtils.setField(loader, "authorsData", new ClassPathResource("data/autoren.csv"));
+        ReflectionTestUtils.setField(loader, "booksData", new ClassPathResource("data/buecher.csv"));
+        ReflectionTestUtils.setField(loader, "magazinesData", new ClassPathResource("data/zeitschriften.csv"));
+    }
+
+    @Test
+    @DisplayName("Readiness is out of service while the import runs and up once it has finished")
+    public void shouldBeReadyOnlyOnceEveryFileIsImported() throws InterruptedException {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(deltaImporter).importDelta(any(), eq(Book.class), any(), any());
+
+        //when
+        loader.run();
+
+        //then
+        assertEquals(Status.OUT_OF_SERVICE, importHealth.health().getStatus());
+        release.countDown();
+        assertEquals(Status.UP, awaitImport());
+        assertEquals(CatalogueImportHealthIndicator.IMPORTED, importHealth.health().getDetails().get("book"));
+    }
+
+    @Test
+    @DisplayName("Readiness stays down once the import of a file failed")
+    public void given_missingFile_shouldNotBecomeReady() throws InterruptedException {
+        //given
+        ReflectionTestUtils.setField(loader, "booksData", new ClassPathResource("data/missing.csv"));
+
+        //when
+        loader.run();
+
+        //then
+        assertEquals(Status.DOWN, awaitImport());
+        assertEquals(CatalogueImportHealthIndicator.FAILED, importHealth.health().getDetails().get("book"));
+        assertEquals(CatalogueImportHealthIndicator.IMPORTED, importHealth.health().getDetails().get("magazine"));
+    }
+
+    @Test
+    @DisplayName("Readiness stays down once the import of a file was aborted by a write")
+    public void given_failingWrite_shouldNotBecomeReady() throws InterruptedException {
+        //given
+        doAnswer(invocation -> {
+            throw new IllegalStateException("Mongo unavailable");
+        }).when(deltaImporter).importDelta(any(), eq(Book.class), any(), any());
+
+        //when
+        loader.run();
+
+        //then
+        assertEquals(Status.DOWN, awaitImport());
+        assertEquals(CatalogueImportHealthIndicator.FAILED, importHealth.health().getDetails().get("book"));
+    }
+
+    private Status awaitImport() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((importHealth.health().getStatus().equals(Status.OUT_OF_SERVICE)
+                || importHealth.health().getDetails().containsValue(CatalogueImportHealthIndicator.IMPORTING))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return importHealth.health().getStatus();
+    }
+}
@@ -0,0 +1,100 @@
+package com.optimizely.library.config;
+
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.repository.BookRepository;
+import com.optimizely.library.service.BookService;
+import com.optimizely.library.service.InvalidQueryException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class ServiceMetricsAspectTest {
+    @MockBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void shouldTimeServiceCallsAndRecordResultSizes() {
+        //given
+        when(bookRepository.findByAuthorsContaining("author1@library.com")).thenReturn(getBooks());
+
+        //when
+        bookService.findBooksByAuthor("author1@library.com");
+
+        //then
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.TIMER)
+                .tags("service", "BookService", "method", "findBooksByAuthor", "exception", "none")
+                .timer()
+                .count());
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.RESULTS)
+                .tags("service", "BookService", "method", "findBooksByAuthor")
+                .summary()
+                .totalAmount());
+    }
+
+    @Test
+    public void shouldTagFailedServiceCallsWithTheException() {
+        //when
+        assertThrows(InvalidQueryException.class, () -> bookService.findBooksByAuthor(" ", AuthorMatch.EXACT));
+
+        //then
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.TIMER)
+                .tags("method", "findBooksByAuthor", "exception", "InvalidQueryException")
+                .timer()
+                .count());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus Test - Success")
+    public void shouldExposePercentilesInPrometheusFormat() throws Exception {
+        //given
+        when(bookRepository.findAll()).thenReturn(getBooks());
+        mockMvc.perform(get("/books")).andExpect(status().isOk());
+
+        //when
+        var resultActions = mockMvc.perform(get("/actuator/prometheus"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds{")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")))
+                .andExpect(content().string(containsString("library_service_seconds_count{exception=\"none\",method=\"findAllBooks\",service=\"BookService\",}")))
+                .andExpect(content().string(containsString("library_service_results_items_sum{method=\"findAllBooks\",service=\"BookService\",}")));
+    }
+
+    private List<Book> getBooks() {
+        return List.of(
+                new Book("a title", "111-234-340", List.of("author1@library.com", "autho2@libraray.com"), "a good book"),
+                new Book("z title", "112-234-341", List.of("author1@library.com", "autho2@libraray.com"), "a good book")
+        );
+    }
+}
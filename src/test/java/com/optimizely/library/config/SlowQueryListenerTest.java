@@ -0,0 +1,101 @@
+package com.optimizely.library.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.optimizely.library.model.SlowQuery;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlowQueryListenerTest {
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private static final BsonDocument COLLECTION_SCAN = BsonDocument.parse("""
+            {"queryPlanner": {"winningPlan": {"stage": "SORT", "inputStage": {"stage": "COLLSCAN"}}},
+             "executionStats": {"nReturned": 2, "totalKeysExamined": 0, "totalDocsExamined": 5000}}""");
+
+    private final List<BsonDocument> explained = new ArrayList<>();
+
+    private final SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100), 2, (database, explain) -> {
+        explained.add(explain);
+        return COLLECTION_SCAN;
+    }, Runnable::run);
+
+    @Test
+    public void shouldExplainSlowReads() {
+        //when
+        run(1, "find", """
+                {"find": "book", "filter": {"authors": "author1@library.com"}, "sort": {"titleSort": 1}, "$db": "library", "lsid": {"id": 1}}""", 150);
+
+        //then
+        SlowQuery query = listener.recent().get(0);
+        assertEquals("book", query.getCollection());
+        assertEquals("find", query.getCommand());
+        assertEquals(150, query.getDurationMillis());
+        assertEquals("{\"find\": \"book\", \"filter\": {\"authors\": \"?\"}, \"sort\": {\"titleSort\": 1}}", query.getShape());
+        assertEquals(List.of("SORT", "COLLSCAN"), query.getPlan());
+        assertEquals(5000, query.getDocsExamined());
+        assertEquals(0, query.getKeysExamined());
+        assertEquals(2, query.getReturned());
+        assertEquals(BsonDocument.parse("""
+                {"explain": {"find": "book", "filter": {"authors": "author1@library.com"}, "sort": {"titleSort": 1}},
+                 "verbosity": "executionStats"}"""), explained.get(0));
+    }
+
+    @Test
+    public void shouldIgnoreFastReadsAndWrites() {
+        //when
+        run(1, "find", "{\"find\": \"book\", \"filter\": {}}", 99);
+        run(2, "insert", "{\"insert\": \"book\", \"documents\": []}", 500);
+
+        //then
+        assertTrue(listener.recent().isEmpty());
+        assertTrue(explained.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepOnlyTheMostRecentSlowReads() {
+        //when
+        run(1, "find", "{\"find\": \"book\"}", 100);
+        run(2, "count", "{\"count\": \"magazine\", \"query\": {\"isbn\": \"111\"}}", 200);
+        run(3, "aggregate", "{\"aggregate\": \"book\", \"pipeline\": [{\"$match\": {\"isbn\": \"111\"}}], \"cursor\": {\"batchSize\": 10}}", 300);
+
+        //then
+        assertEquals(List.of("aggregate", "count"), listener.recent().stream().map(SlowQuery::getCommand).toList());
+        assertEquals(new BsonDocument(), explained.get(2).getDocument("explain").getDocument("cursor"));
+    }
+
+    @Test
+    public void shouldKeepSlowReadsThatCannotBeExplained() {
+        //given
+        SlowQueryListener failing = new SlowQueryListener(Duration.ZERO, 10, (database, explain) -> {
+            throw new IllegalStateException("not authorized");
+        }, Runnable::run);
+
+        //when
+        failing.commandStarted(new CommandStartedEvent(1, CONNECTION, "library", "distinct", BsonDocument.parse("{\"distinct\": \"book\", \"key\": \"authors\"}")));
+        failing.commandSucceeded(new CommandSucceededEvent(1, CONNECTION, "distinct", new BsonDocument(), 0));
+
+        //then
+        SlowQuery query = failing.recent().get(0);
+        assertEquals("not authorized", query.getExplainError());
+        assertNull(query.getPlan());
+    }
+
+    private void run(int requestId, String commandName, String command, long elapsedMillis) {
+        listener.commandStarted(new CommandStartedEvent(requestId, CONNECTION, "library", commandName, BsonDocument.parse(command)));
+        listener.commandSucceeded(new CommandSucceededEvent(requestId, CONNECTION, commandName, new BsonDocument(),
+                TimeUnit.MILLISECONDS.toNanos(elapsedMillis)));
+    }
+}
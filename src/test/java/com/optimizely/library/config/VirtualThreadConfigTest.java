@@ -0,0 +1,47 @@
+package com.optimizely.library.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Virtual threads are used when the JVM provides them, otherwise the application keeps the platform thread pools.
+ */
+@SpringBootTest(properties = "library.virtual-threads.enabled=true")
+public class VirtualThreadConfigTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    public void shouldCustomizeTomcatOnlyWhenVirtualThreadsAreSupported() {
+        assertEquals(VirtualThreadConfig.isSupported(), context.containsBean("virtualThreadProtocolHandlerCustomizer"));
+    }
+
+    @Test
+    public void shouldRunAsyncRequestsOnVirtualThreadsWhenSupported() throws Exception {
+        //when
+        boolean virtual = applicationTaskExecutor.submit(() -> isVirtual(Thread.currentThread())).get();
+
+        //then
+        assertEquals(VirtualThreadConfig.isSupported(), virtual);
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
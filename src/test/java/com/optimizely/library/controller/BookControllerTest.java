@@ -1,9 +1,20 @@
 package com.optimizely.library.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
 import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.BulkCreateResult.BulkCreateError;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
+import com.optimizely.library.repository.AuthorRepository;
+import com.optimizely.library.service.AuthorDirectory;
 import com.optimizely.library.service.BookService;
+import com.optimizely.library.service.CatalogueVersions;
+import com.optimizely.library.service.InvalidQueryException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,19 +22,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -33,9 +57,18 @@ public class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private AuthorRepository authorRepository;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private AuthorDirectory authorDirectory;
+
+    @Autowired
+    private CatalogueVersions catalogueVersions;
+
     @Test
     @DisplayName("POST /books Test - Success")
     public void testInsertBook() throws Exception {
@@ -66,6 +99,54 @@ public class BookControllerTest {
                 .andExpect(content().string(asJsonString(getBooks())));
     }
 
+    @Test
+    @DisplayName("GET /books as NDJSON Test - Success")
+    public void testStreamAllBooks() throws Exception {
+        //given
+        when(bookService.streamAllBooks()).thenReturn(getBooks().stream());
+
+        //when
+        var mvcResult = mockMvc.perform(get("/books").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(getBooks().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining())));
+    }
+
+    @Test
+    @DisplayName("GET /books?limit=2 Test - Success")
+    public void testGetBooksPage() throws Exception {
+        //given
+        CursorPage<Book> page = new CursorPage<>(getBooks().subList(0, 2), "MTEyLTIzNC0zNDE");
+        when(bookService.findBooks("MTExLTIzNC0zNDA", 2)).thenReturn(page);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books?limit=2&cursor=MTExLTIzNC0zNDA"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(page)));
+    }
+
+    @Test
+    @DisplayName("GET /books?limit=2&cursor=invalid Test - Failure")
+    public void testGetBooksPageFailure() throws Exception {
+        //given
+        when(bookService.findBooks("invalid", 2)).thenThrow(new InvalidQueryException("Invalid cursor invalid"));
+
+        //when
+        var resultActions = mockMvc.perform(get("/books?limit=2&cursor=invalid"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /books/{isbn} - Success")
     public void testGetBooksByIsbnSuccess() throws Exception {
@@ -118,6 +199,25 @@ public class BookControllerTest {
                 .andExpect(content().string(asJsonString(booksByAuthor)));
     }
 
+    @Test
+    @DisplayName("POST /books/isbn:batch - Success")
+    public void testGetBooksByIsbns() throws Exception {
+        //given
+        List<String> isbns = List.of("111-234-340", "999-999-999");
+        BatchLookup<Book> lookup = new BatchLookup<>(getBooks().subList(0, 1), List.of("999-999-999"));
+        when(bookService.findBooksByIsbns(isbns)).thenReturn(lookup);
+
+        //when
+        var resultActions = mockMvc.perform(post("/books/isbn:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(isbns)));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(lookup)));
+    }
+
     @Test
     @DisplayName("GET /books/sort-by-title?order=ASC - Success")
     public void testSortByTitleAscSuccess() throws Exception {
@@ -162,6 +262,28 @@ public class BookControllerTest {
     }
 
 
+    @Test
+    @DisplayName("GET /books/sort-by-title?order=ASC&page=1&size=2 - Success")
+    public void testSortByTitlePagedSuccess() throws Exception {
+        //given
+        List<Book> secondPage = getBooks()
+                .stream()
+                .sorted(Comparator.comparing(Book::getTitle))
+                .skip(2)
+                .limit(2)
+                .toList();
+        when(bookService.findBooksOrderedByTitle(Order.ASC, 1, 2))
+                .thenReturn(secondPage);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books/sort-by-title?order=ASC&page=1&size=2"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(secondPage)));
+    }
+
     @Test
     @DisplayName("GET /books/sort-by-title?order=XYZ - Failure")
     public void testSortByTitleFailure() throws Exception {
@@ -174,6 +296,306 @@ public class BookControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /books/bulk Test - Success")
+    public void testCreateBooks() throws Exception {
+        //given
+        BulkCreateResult result = new BulkCreateResult(4, List.of(new BulkCreateError(1, "112-234-341", BulkCreateError.DUPLICATE_ISBN, "E11000 duplicate key error")));
+        when(bookService.createBooks(any())).thenReturn(result);
+
+        //when
+        var resultActions = mockMvc.perform(post("/books/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(getBooks())));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(result)));
+    }
+
+    @Test
+    @DisplayName("POST /books/bulk as NDJSON Test - Success")
+    public void testCreateBooksFromNdjson() throws Exception {
+        //given
+        when(bookService.createBooks(any())).thenAnswer(invocation -> {
+            List<Book> books = invocation.<Stream<Book>>getArgument(0).toList();
+            return new BulkCreateResult(books.size(), List.of());
+        });
+
+        //when
+        var resultActions = mockMvc.perform(post("/books/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(getBooks().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining())));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(new BulkCreateResult(getBooks().size(), List.of()))));
+    }
+
+    @Test
+    @DisplayName("POST /books/bulk as NDJSON with a malformed line Test - Success")
+    public void testCreateBooksFromNdjsonWithMalformedLine() throws Exception {
+        //given
+        when(bookService.createBooks(any())).thenAnswer(invocation -> {
+            List<Book> books = invocation.<Stream<Book>>getArgument(0).toList();
+            return new BulkCreateResult(books.stream().filter(Objects::nonNull).count(), IntStream.range(0, books.size())
+                    .filter(index -> books.get(index) == null)
+                    .mapToObj(index -> new BulkCreateError(index, null, BulkCreateError.MALFORMED, "not a valid document"))
+                    .toList());
+        });
+
+        //when
+        var resultActions = mockMvc.perform(post("/books/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(asJsonString(getBooks().get(0)) + "\n{\"title\": \n" + asJsonString(getBooks().get(1)) + "\n"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(new BulkCreateResult(2, List.of(
+                        new BulkCreateError(1, null, BulkCreateError.MALFORMED, "not a valid document"))))));
+    }
+
+    @Test
+    @DisplayName("GET /books/search?q= Test - Success")
+    public void testSearchBooks() throws Exception {
+        //given
+        List<SearchHit<Book>> hits = List.of(new SearchHit<>(getBooks().get(0), 1.5), new SearchHit<>(getBooks().get(1), 0.75));
+        when(bookService.searchBooks("title", 1, 2)).thenReturn(hits);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books/search?q=title&page=1&size=2"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(hits)));
+    }
+
+    @Test
+    @DisplayName("GET /books/search Test - Failure")
+    public void testSearchBooksWithoutTerms() throws Exception {
+        //given
+        //when
+        var resultActions = mockMvc.perform(get("/books/search"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /books/author/{author}?match=PREFIX Test - Success")
+    public void testGetBooksByAuthorPrefix() throws Exception {
+        //given
+        List<Book> booksByAuthor = getBooks().subList(0, 2);
+        when(bookService.findBooksByAuthor("Autho2", AuthorMatch.PREFIX)).thenReturn(booksByAuthor);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books/author/Autho2?match=PREFIX"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(booksByAuthor)));
+    }
+
+    @Test
+    @DisplayName("GET /books/author/{author}?match=XYZ Test - Failure")
+    public void testGetBooksByAuthorInvalidMatch() throws Exception {
+        //given
+        //when
+        var resultActions = mockMvc.perform(get("/books/author/autho2@libraray.com?match=XYZ"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /books/isbn/{isbn}?expand=authors Test - Success")
+    public void testGetBookByIsbnExpanded() throws Exception {
+        //given
+        Book book = getBooks().get(0);
+        Author author = new Author("author1@library.com", "Paul", "Walter");
+        when(bookService.findBookByIsbn(book.getIsbn())).thenReturn(Optional.of(book));
+        when(authorRepository.findAll()).thenReturn(List.of(author));
+        authorDirectory.refresh();
+
+        //when
+        var resultActions = mockMvc.perform(get("/books/isbn/" + book.getIsbn() + "?expand=authors"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isbn").value(book.getIsbn()))
+                .andExpect(jsonPath("$.authors[0].firstName").value("Paul"))
+                .andExpect(jsonPath("$.authors[0].lastName").value("Walter"))
+                .andExpect(jsonPath("$.authors[1].email").value(book.getAuthors().get(1)));
+    }
+
+    @Test
+    @DisplayName("GET /books?expand=authors Test - Success")
+    public void testGetAllBooksExpanded() throws Exception {
+        //given
+        Author author = new Author("author1@library.com", "Paul", "Walter");
+        when(bookService.findAllBooks()).thenReturn(getBooks());
+        when(authorRepository.findAll()).thenReturn(List.of(author));
+        authorDirectory.refresh();
+
+        //when
+        var resultActions = mockMvc.perform(get("/books?expand=authors"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(getBooks().size()))
+                .andExpect(jsonPath("$[0].authors[0].firstName").value("Paul"))
+                .andExpect(jsonPath("$[0].authors[0].lastName").value("Walter"))
+                .andExpect(jsonPath("$[1].authors[0].email").value(getBooks().get(1).getAuthors().get(0)));
+    }
+
+    @Test
+    @DisplayName("GET /books?limit=2&expand=authors Test - Success")
+    public void testGetBooksPageExpanded() throws Exception {
+        //given
+        CursorPage<Book> page = new CursorPage<>(getBooks().subList(0, 2), "MTEyLTIzNC0zNDE");
+        when(bookService.findBooks(null, 2)).thenReturn(page);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books?limit=2&expand=authors"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[1].authors[0].email").value(getBooks().get(1).getAuthors().get(0)))
+                .andExpect(jsonPath("$.nextCursor").value("MTEyLTIzNC0zNDE"));
+    }
+
+    @Test
+    @DisplayName("GET /books?fields=title Test - Success")
+    public void testGetAllBooksWithFields() throws Exception {
+        //given
+        List<Book> books = getSparseBooks();
+        when(bookService.findAllBooks("title")).thenReturn(books);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books?fields=title"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("a title"))
+                .andExpect(jsonPath("$[0].isbn").value("111-234-340"))
+                .andExpect(jsonPath("$[0]", not(hasKey("authors"))))
+                .andExpect(jsonPath("$[0]", not(hasKey("description"))));
+    }
+
+    @Test
+    @DisplayName("GET /books Test - Missing values are kept as null")
+    public void testGetAllBooksKeepsNullFields() throws Exception {
+        //given
+        when(bookService.findAllBooks()).thenReturn(getSparseBooks());
+
+        //when
+        var resultActions = mockMvc.perform(get("/books"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", hasKey("authors")))
+                .andExpect(jsonPath("$[0]", hasKey("description")));
+    }
+
+    @Test
+    @DisplayName("GET /books/author/{author}?fields=title Test - Success")
+    public void testGetBooksByAuthorWithFields() throws Exception {
+        //given
+        when(bookService.findBooksByAuthor("autho2@libraray.com", "title")).thenReturn(getSparseBooks());
+
+        //when
+        var resultActions = mockMvc.perform(get("/books/author/autho2@libraray.com?fields=title"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].description").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /books/sort-by-title?order=ASC&page=0&size=2&fields=title Test - Success")
+    public void testSortByTitlePagedWithFields() throws Exception {
+        //given
+        when(bookService.findBooksOrderedByTitle(Order.ASC, 0, 2, "title")).thenReturn(getSparseBooks());
+
+        //when
+        var resultActions = mockMvc.perform(get("/books/sort-by-title?order=ASC&page=0&size=2&fields=title"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].title").value("z title"))
+                .andExpect(jsonPath("$[1].authors").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /books?fields=price Test - Failure")
+    public void testGetAllBooksWithUnknownField() throws Exception {
+        //given
+        when(bookService.findAllBooks("price")).thenThrow(new InvalidQueryException("Unknown field price"));
+
+        //when
+        var resultActions = mockMvc.perform(get("/books?fields=price"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /books/sort-by-title?order=ASC with a current If-None-Match Test - Not Modified")
+    public void testSortByTitleNotModified() throws Exception {
+        //given
+        when(bookService.findBooksOrderedByTitle(Order.ASC)).thenReturn(getBooks());
+        String etag = mockMvc.perform(get("/books/sort-by-title?order=ASC"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books/sort-by-title?order=ASC").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        //then
+        resultActions
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(bookService, times(1)).findBooksOrderedByTitle(Order.ASC);
+    }
+
+    @Test
+    @DisplayName("GET /books with a stale If-None-Match Test - Success")
+    public void testGetAllBooksAfterChange() throws Exception {
+        //given
+        when(bookService.findAllBooks()).thenReturn(getBooks());
+        String etag = catalogueVersions.etag(Book.class);
+        catalogueVersions.bump(Book.class);
+
+        //when
+        var resultActions = mockMvc.perform(get("/books").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogueVersions.etag(Book.class)))
+                .andExpect(content().string(asJsonString(getBooks())));
+    }
+
     private static String asJsonString(final Object obj) {
         try {
             return new ObjectMapper().writeValueAsString(obj);
@@ -191,4 +613,11 @@ public class BookControllerTest {
                 new Book("x title", "116-234-344", List.of("author7@library.com", "autho8@libraray.com"), "a good book")
         );
     }
-}
\ No newline at end of file
+
+    private List<Book> getSparseBooks() {
+        return List.of(
+                new Book("a title", "111-234-340", null, null),
+                new Book("z title", "112-234-341", null, null)
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.optimizely.library.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.CatalogueItem;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.service.CatalogueService;
+import com.optimizely.library.service.InvalidQueryException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CatalogueControllerTest {
+    @MockBean
+    private CatalogueService catalogueService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /catalogue/search?author= Test - Success")
+    public void testSearchByAuthor() throws Exception {
+        //given
+        String author = "author1@library.com";
+        List<CatalogueItem> items = List.of(
+                CatalogueItem.of(new Book("a title", "111-234-340", List.of(author), "a good book")),
+                CatalogueItem.of(new Magazine("b title", "211-234-340", List.of(author), "01-01-2020")));
+        when(catalogueService.findByAuthor(author, Order.ASC, 0, 20)).thenReturn(items);
+
+        //when
+        var resultActions = mockMvc.perform(get("/catalogue/search?author=" + author));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(items)));
+    }
+
+    @Test
+    @DisplayName("GET /catalogue/search?author=&page=1&size=2&order=DESC Test - Success")
+    public void testSearchByAuthorPaged() throws Exception {
+        //given
+        String author = "author1@library.com";
+        List<CatalogueItem> items = List.of(CatalogueItem.of(new Book("a title", "111-234-340", List.of(author), "a good book")));
+        when(catalogueService.findByAuthor(author, Order.DESC, 1, 2)).thenReturn(items);
+
+        //when
+        var resultActions = mockMvc.perform(get("/catalogue/search?author=" + author + "&order=DESC&page=1&size=2"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(items)));
+    }
+
+    @Test
+    @DisplayName("GET /catalogue/search?author=&size=5000 Test - Failure")
+    public void testSearchByAuthorFailure() throws Exception {
+        //given
+        when(catalogueService.findByAuthor("author1@library.com", Order.ASC, 0, 5000)).thenThrow(new InvalidQueryException("size too large"));
+
+        //when
+        var resultActions = mockMvc.perform(get("/catalogue/search?author=author1@library.com&size=5000"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /catalogue/search Test - Failure")
+    public void testSearchWithoutAuthor() throws Exception {
+        //given
+        //when
+        var resultActions = mockMvc.perform(get("/catalogue/search"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String asJsonString(final Object obj) {
+        try {
+            return new ObjectMapper().writeValueAsString(obj);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
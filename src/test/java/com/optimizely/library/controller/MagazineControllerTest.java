@@ -1,8 +1,19 @@
 package com.optimizely.library.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.BulkCreateResult.BulkCreateError;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Magazine;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
+import com.optimizely.library.repository.AuthorRepository;
+import com.optimizely.library.service.AuthorDirectory;
+import com.optimizely.library.service.CatalogueVersions;
+import com.optimizely.library.service.InvalidQueryException;
 import com.optimizely.library.service.MagazineService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,19 +22,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -33,9 +57,18 @@ public class MagazineControllerTest {
     @MockBean
     private MagazineService magazineService;
 
+    @MockBean
+    private AuthorRepository authorRepository;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private AuthorDirectory authorDirectory;
+
+    @Autowired
+    private CatalogueVersions catalogueVersions;
+
     @Test
     @DisplayName("POST /magazines Test - Success")
     public void testInsertMagazine() throws Exception {
@@ -66,6 +99,54 @@ public class MagazineControllerTest {
                 .andExpect(content().string(asJsonString(getMagazines())));
     }
 
+    @Test
+    @DisplayName("GET /magazines as NDJSON Test - Success")
+    public void testStreamAllMagazines() throws Exception {
+        //given
+        when(magazineService.streamAllMagazines()).thenReturn(getMagazines().stream());
+
+        //when
+        var mvcResult = mockMvc.perform(get("/magazines").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(getMagazines().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining())));
+    }
+
+    @Test
+    @DisplayName("GET /magazines?limit=2 Test - Success")
+    public void testGetMagazinesPage() throws Exception {
+        //given
+        CursorPage<Magazine> page = new CursorPage<>(getMagazines().subList(0, 2), "MTEyLTIzNC0zNDE");
+        when(magazineService.findMagazines("MTExLTIzNC0zNDA", 2)).thenReturn(page);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines?limit=2&cursor=MTExLTIzNC0zNDA"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(page)));
+    }
+
+    @Test
+    @DisplayName("GET /magazines?limit=2&cursor=invalid Test - Failure")
+    public void testGetMagazinesPageFailure() throws Exception {
+        //given
+        when(magazineService.findMagazines("invalid", 2)).thenThrow(new InvalidQueryException("Invalid cursor invalid"));
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines?limit=2&cursor=invalid"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /magazines/isbn/{isbn} - Success")
     public void testGetMagazinesByIsbnSuccess() throws Exception {
@@ -122,6 +203,25 @@ public class MagazineControllerTest {
                 .andExpect(content().string(asJsonString(magazinesByAuthor)));
     }
 
+    @Test
+    @DisplayName("POST /magazines/isbn:batch - Success")
+    public void testGetMagazinesByIsbns() throws Exception {
+        //given
+        List<String> isbns = List.of("111-234-340", "999-999-999");
+        BatchLookup<Magazine> lookup = new BatchLookup<>(getMagazines().subList(0, 1), List.of("999-999-999"));
+        when(magazineService.findMagazinesByIsbns(isbns)).thenReturn(lookup);
+
+        //when
+        var resultActions = mockMvc.perform(post("/magazines/isbn:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(isbns)));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(lookup)));
+    }
+
     @Test
     @DisplayName("GET /magazines/sort-by-title?order=ASC - Success")
     public void testSortByTitleAscSuccess() throws Exception {
@@ -166,6 +266,28 @@ public class MagazineControllerTest {
     }
 
 
+    @Test
+    @DisplayName("GET /magazines/sort-by-title?order=ASC&page=1&size=2 - Success")
+    public void testSortByTitlePagedSuccess() throws Exception {
+        //given
+        List<Magazine> secondPage = getMagazines()
+                .stream()
+                .sorted(Comparator.comparing(Magazine::getTitle))
+                .skip(2)
+                .limit(2)
+                .toList();
+        when(magazineService.findMagazinesOrderedByTitle(Order.ASC, 1, 2))
+                .thenReturn(secondPage);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/sort-by-title?order=ASC&page=1&size=2"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(secondPage)));
+    }
+
     @Test
     @DisplayName("GET /magazines/sort-by-title?order=XYZ - Failure")
     public void testSortByTitleFailure() throws Exception {
@@ -178,6 +300,306 @@ public class MagazineControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /magazines/bulk Test - Success")
+    public void testCreateMagazines() throws Exception {
+        //given
+        BulkCreateResult result = new BulkCreateResult(4, List.of(new BulkCreateError(1, "112-234-341", BulkCreateError.DUPLICATE_ISBN, "E11000 duplicate key error")));
+        when(magazineService.createMagazines(any())).thenReturn(result);
+
+        //when
+        var resultActions = mockMvc.perform(post("/magazines/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(getMagazines())));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(result)));
+    }
+
+    @Test
+    @DisplayName("POST /magazines/bulk as NDJSON Test - Success")
+    public void testCreateMagazinesFromNdjson() throws Exception {
+        //given
+        when(magazineService.createMagazines(any())).thenAnswer(invocation -> {
+            List<Magazine> magazines = invocation.<Stream<Magazine>>getArgument(0).toList();
+            return new BulkCreateResult(magazines.size(), List.of());
+        });
+
+        //when
+        var resultActions = mockMvc.perform(post("/magazines/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(getMagazines().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining())));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(new BulkCreateResult(getMagazines().size(), List.of()))));
+    }
+
+    @Test
+    @DisplayName("POST /magazines/bulk as NDJSON with a malformed line Test - Success")
+    public void testCreateMagazinesFromNdjsonWithMalformedLine() throws Exception {
+        //given
+        when(magazineService.createMagazines(any())).thenAnswer(invocation -> {
+            List<Magazine> magazines = invocation.<Stream<Magazine>>getArgument(0).toList();
+            return new BulkCreateResult(magazines.stream().filter(Objects::nonNull).count(), IntStream.range(0, magazines.size())
+                    .filter(index -> magazines.get(index) == null)
+                    .mapToObj(index -> new BulkCreateError(index, null, BulkCreateError.MALFORMED, "not a valid document"))
+                    .toList());
+        });
+
+        //when
+        var resultActions = mockMvc.perform(post("/magazines/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(asJsonString(getMagazines().get(0)) + "\n{\"title\": \n" + asJsonString(getMagazines().get(1)) + "\n"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(new BulkCreateResult(2, List.of(
+                        new BulkCreateError(1, null, BulkCreateError.MALFORMED, "not a valid document"))))));
+    }
+
+    @Test
+    @DisplayName("GET /magazines/search?q= Test - Success")
+    public void testSearchMagazines() throws Exception {
+        //given
+        List<SearchHit<Magazine>> hits = List.of(new SearchHit<>(getMagazines().get(0), 1.5), new SearchHit<>(getMagazines().get(1), 0.75));
+        when(magazineService.searchMagazines("title", 1, 2)).thenReturn(hits);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/search?q=title&page=1&size=2"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(hits)));
+    }
+
+    @Test
+    @DisplayName("GET /magazines/search Test - Failure")
+    public void testSearchMagazinesWithoutTerms() throws Exception {
+        //given
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/search"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /magazines/author/{author}?match=PREFIX Test - Success")
+    public void testGetMagazinesByAuthorPrefix() throws Exception {
+        //given
+        List<Magazine> magazinesByAuthor = getMagazines().subList(0, 2);
+        when(magazineService.findMagazinesByAuthor("Autho2", AuthorMatch.PREFIX)).thenReturn(magazinesByAuthor);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/author/Autho2?match=PREFIX"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().string(asJsonString(magazinesByAuthor)));
+    }
+
+    @Test
+    @DisplayName("GET /magazines/author/{author}?match=XYZ Test - Failure")
+    public void testGetMagazinesByAuthorInvalidMatch() throws Exception {
+        //given
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/author/autho2@libraray.com?match=XYZ"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /magazines/isbn/{isbn}?expand=authors Test - Success")
+    public void testGetMagazineByIsbnExpanded() throws Exception {
+        //given
+        Magazine magazine = getMagazines().get(0);
+        Author author = new Author("author1@library.com", "Paul", "Walter");
+        when(magazineService.findMagazineByIsbn(magazine.getIsbn())).thenReturn(Optional.of(magazine));
+        when(authorRepository.findAll()).thenReturn(List.of(author));
+        authorDirectory.refresh();
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/isbn/" + magazine.getIsbn() + "?expand=authors"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isbn").value(magazine.getIsbn()))
+                .andExpect(jsonPath("$.authors[0].firstName").value("Paul"))
+                .andExpect(jsonPath("$.authors[0].lastName").value("Walter"))
+                .andExpect(jsonPath("$.authors[1].email").value(magazine.getAuthors().get(1)));
+    }
+
+    @Test
+    @DisplayName("GET /magazines?expand=authors Test - Success")
+    public void testGetAllMagazinesExpanded() throws Exception {
+        //given
+        Author author = new Author("author1@library.com", "Paul", "Walter");
+        when(magazineService.findAllMagazines()).thenReturn(getMagazines());
+        when(authorRepository.findAll()).thenReturn(List.of(author));
+        authorDirectory.refresh();
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines?expand=authors"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(getMagazines().size()))
+                .andExpect(jsonPath("$[0].authors[0].firstName").value("Paul"))
+                .andExpect(jsonPath("$[0].authors[0].lastName").value("Walter"))
+                .andExpect(jsonPath("$[1].authors[0].email").value(getMagazines().get(1).getAuthors().get(0)));
+    }
+
+    @Test
+    @DisplayName("GET /magazines?limit=2&expand=authors Test - Success")
+    public void testGetMagazinesPageExpanded() throws Exception {
+        //given
+        CursorPage<Magazine> page = new CursorPage<>(getMagazines().subList(0, 2), "MTEyLTIzNC0zNDE");
+        when(magazineService.findMagazines(null, 2)).thenReturn(page);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines?limit=2&expand=authors"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[1].authors[0].email").value(getMagazines().get(1).getAuthors().get(0)))
+                .andExpect(jsonPath("$.nextCursor").value("MTEyLTIzNC0zNDE"));
+    }
+
+    @Test
+    @DisplayName("GET /magazines?fields=title Test - Success")
+    public void testGetAllMagazinesWithFields() throws Exception {
+        //given
+        List<Magazine> magazines = getSparseMagazines();
+        when(magazineService.findAllMagazines("title")).thenReturn(magazines);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines?fields=title"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("a title"))
+                .andExpect(jsonPath("$[0].isbn").value("111-234-340"))
+                .andExpect(jsonPath("$[0]", not(hasKey("authors"))))
+                .andExpect(jsonPath("$[0]", not(hasKey("publicationDate"))));
+    }
+
+    @Test
+    @DisplayName("GET /magazines Test - Missing values are kept as null")
+    public void testGetAllMagazinesKeepsNullFields() throws Exception {
+        //given
+        when(magazineService.findAllMagazines()).thenReturn(getSparseMagazines());
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", hasKey("authors")))
+                .andExpect(jsonPath("$[0]", hasKey("publicationDate")));
+    }
+
+    @Test
+    @DisplayName("GET /magazines/author/{author}?fields=title Test - Success")
+    public void testGetMagazinesByAuthorWithFields() throws Exception {
+        //given
+        when(magazineService.findMagazinesByAuthor("autho2@libraray.com", "title")).thenReturn(getSparseMagazines());
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/author/autho2@libraray.com?fields=title"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].publicationDate").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /magazines/sort-by-title?order=ASC&page=0&size=2&fields=title Test - Success")
+    public void testSortByTitlePagedWithFields() throws Exception {
+        //given
+        when(magazineService.findMagazinesOrderedByTitle(Order.ASC, 0, 2, "title")).thenReturn(getSparseMagazines());
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/sort-by-title?order=ASC&page=0&size=2&fields=title"));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].title").value("z title"))
+                .andExpect(jsonPath("$[1].authors").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /magazines?fields=price Test - Failure")
+    public void testGetAllMagazinesWithUnknownField() throws Exception {
+        //given
+        when(magazineService.findAllMagazines("price")).thenThrow(new InvalidQueryException("Unknown field price"));
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines?fields=price"));
+
+        //then
+        resultActions
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /magazines/sort-by-title?order=ASC with a current If-None-Match Test - Not Modified")
+    public void testSortByTitleNotModified() throws Exception {
+        //given
+        when(magazineService.findMagazinesOrderedByTitle(Order.ASC)).thenReturn(getMagazines());
+        String etag = mockMvc.perform(get("/magazines/sort-by-title?order=ASC"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines/sort-by-title?order=ASC").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        //then
+        resultActions
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(magazineService, times(1)).findMagazinesOrderedByTitle(Order.ASC);
+    }
+
+    @Test
+    @DisplayName("GET /magazines with a stale If-None-Match Test - Success")
+    public void testGetAllMagazinesAfterChange() throws Exception {
+        //given
+        when(magazineService.findAllMagazines()).thenReturn(getMagazines());
+        String etag = catalogueVersions.etag(Magazine.class);
+        catalogueVersions.bump(Magazine.class);
+
+        //when
+        var resultActions = mockMvc.perform(get("/magazines").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        //then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogueVersions.etag(Magazine.class)))
+                .andExpect(content().string(asJsonString(getMagazines())));
+    }
+
     private static String asJsonString(final Object obj) {
         try {
             return new ObjectMapper().writeValueAsString(obj);
@@ -195,4 +617,11 @@ public class MagazineControllerTest {
                 new Magazine("x title", "116-234-344", List.of("author7@library.com", "autho8@libraray.com"), "01-01-2020")
         );
     }
-}
\ No newline at end of file
+
+    private List<Magazine> getSparseMagazines() {
+        return List.of(
+                new Magazine("a title", "111-234-340", null, null),
+                new Magazine("z title", "112-234-341", null, null)
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package com.optimizely.library.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.service.InvalidQueryException;
+import com.optimizely.library.service.ReactiveBookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveBookControllerTest {
+    @MockBean
+    private ReactiveBookService bookService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("GET /books Test - Success")
+    public void testGetAllBooks() {
+        //given
+        when(bookService.findAllBooks()).thenReturn(Flux.fromIterable(getBooks()));
+
+        //when
+        var response = webTestClient.get().uri("/books").exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(getBooks()));
+    }
+
+    @Test
+    @DisplayName("GET /books as NDJSON Test - Success")
+    public void testStreamAllBooks() {
+        //given
+        when(bookService.findAllBooks()).thenReturn(Flux.fromIterable(getBooks()));
+
+        //when
+        var response = webTestClient.get().uri("/books").accept(MediaType.APPLICATION_NDJSON).exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo(getBooks().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining()));
+    }
+
+    @Test
+    @DisplayName("GET /books?limit=2 Test - Success")
+    public void testGetBooksPage() {
+        //given
+        CursorPage<Book> page = new CursorPage<>(getBooks().subList(0, 2), "MTEyLTIzNC0zNDE");
+        when(bookService.findBooks("MTExLTIzNC0zNDA", 2)).thenReturn(Mono.just(page));
+
+        //when
+        var response = webTestClient.get().uri("/books?limit=2&cursor=MTExLTIzNC0zNDA").exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(page));
+    }
+
+    @Test
+    @DisplayName("GET /books?limit=2&cursor=invalid Test - Failure")
+    public void testGetBooksPageFailure() {
+        //given
+        when(bookService.findBooks("invalid", 2)).thenReturn(Mono.error(new InvalidQueryException("Invalid cursor invalid")));
+
+        //when
+        var response = webTestClient.get().uri("/books?limit=2&cursor=invalid").exchange();
+
+        //then
+        response.expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /books/isbn/{isbn} Test - Success")
+    public void testGetBookByIsbnSuccess() {
+        //given
+        Book book = getBooks().get(0);
+        when(bookService.findBookByIsbn(book.getIsbn())).thenReturn(Mono.just(book));
+
+        //when
+        var response = webTestClient.get().uri("/books/isbn/" + book.getIsbn()).exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(book));
+    }
+
+    @Test
+    @DisplayName("GET /books/isbn/{isbn} Test - Failure")
+    public void testGetBookByIsbnFailure() {
+        //given
+        when(bookService.findBookByIsbn("999-999-999")).thenReturn(Mono.empty());
+
+        //when
+        var response = webTestClient.get().uri("/books/isbn/999-999-999").exchange();
+
+        //then
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("POST /books/bulk as NDJSON Test - Success")
+    public void testCreateBooksFromNdjson() {
+        //given
+        when(bookService.createBooks(any())).thenAnswer(invocation -> invocation.<Flux<Book>>getArgument(0)
+                .count()
+                .map(count -> new BulkCreateResult(count, List.of())));
+
+        //when
+        var response = webTestClient.post().uri("/books/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(getBooks().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining()))
+                .exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(new BulkCreateResult(getBooks().size(), List.of())));
+    }
+
+    @Test
+    @DisplayName("GET /books/sort-by-title?order=XYZ Test - Failure")
+    public void testSortByTitleFailure() {
+        //given
+        //when
+        var response = webTestClient.get().uri("/books/sort-by-title?order=XYZ").exchange();
+
+        //then
+        response.expectStatus().isBadRequest();
+    }
+
+    private static String asJsonString(final Object obj) {
+        try {
+            return new ObjectMapper().writeValueAsString(obj);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<Book> getBooks() {
+        return List.of(
+                new Book("a title", "111-234-340", List.of("author1@library.com", "autho2@libraray.com"), "a good book"),
+                new Book("z title", "112-234-341", List.of("author3@library.com", "autho2@libraray.com"), "a good book"),
+                new Book("o title", "113-234-342", List.of("author2@library.com", "autho5@libraray.com"), "a good book")
+        );
+    }
+}
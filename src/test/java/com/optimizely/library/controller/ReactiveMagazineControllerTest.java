@@ -0,0 +1,170 @@
+package com.optimizely.library.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.CursorPage;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.service.InvalidQueryException;
+import com.optimizely.library.service.ReactiveMagazineService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveMagazineControllerTest {
+    @MockBean
+    private ReactiveMagazineService magazineService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("GET /magazines Test - Success")
+    public void testGetAllMagazines() {
+        //given
+        when(magazineService.findAllMagazines()).thenReturn(Flux.fromIterable(getMagazines()));
+
+        //when
+        var response = webTestClient.get().uri("/magazines").exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(getMagazines()));
+    }
+
+    @Test
+    @DisplayName("GET /magazines as NDJSON Test - Success")
+    public void testStreamAllMagazines() {
+        //given
+        when(magazineService.findAllMagazines()).thenReturn(Flux.fromIterable(getMagazines()));
+
+        //when
+        var response = webTestClient.get().uri("/magazines").accept(MediaType.APPLICATION_NDJSON).exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo(getMagazines().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining()));
+    }
+
+    @Test
+    @DisplayName("GET /magazines?limit=2 Test - Success")
+    public void testGetMagazinesPage() {
+        //given
+        CursorPage<Magazine> page = new CursorPage<>(getMagazines().subList(0, 2), "MTEyLTIzNC0zNDE");
+        when(magazineService.findMagazines("MTExLTIzNC0zNDA", 2)).thenReturn(Mono.just(page));
+
+        //when
+        var response = webTestClient.get().uri("/magazines?limit=2&cursor=MTExLTIzNC0zNDA").exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(page));
+    }
+
+    @Test
+    @DisplayName("GET /magazines?limit=2&cursor=invalid Test - Failure")
+    public void testGetMagazinesPageFailure() {
+        //given
+        when(magazineService.findMagazines("invalid", 2)).thenReturn(Mono.error(new InvalidQueryException("Invalid cursor invalid")));
+
+        //when
+        var response = webTestClient.get().uri("/magazines?limit=2&cursor=invalid").exchange();
+
+        //then
+        response.expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /magazines/isbn/{isbn} Test - Success")
+    public void testGetMagazineByIsbnSuccess() {
+        //given
+        Magazine magazine = getMagazines().get(0);
+        when(magazineService.findMagazineByIsbn(magazine.getIsbn())).thenReturn(Mono.just(magazine));
+
+        //when
+        var response = webTestClient.get().uri("/magazines/isbn/" + magazine.getIsbn()).exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(magazine));
+    }
+
+    @Test
+    @DisplayName("GET /magazines/isbn/{isbn} Test - Failure")
+    public void testGetMagazineByIsbnFailure() {
+        //given
+        when(magazineService.findMagazineByIsbn("999-999-999")).thenReturn(Mono.empty());
+
+        //when
+        var response = webTestClient.get().uri("/magazines/isbn/999-999-999").exchange();
+
+        //then
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("POST /magazines/bulk as NDJSON Test - Success")
+    public void testCreateMagazinesFromNdjson() {
+        //given
+        when(magazineService.createMagazines(any())).thenAnswer(invocation -> invocation.<Flux<Magazine>>getArgument(0)
+                .count()
+                .map(count -> new BulkCreateResult(count, List.of())));
+
+        //when
+        var response = webTestClient.post().uri("/magazines/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(getMagazines().stream().map(item -> asJsonString(item) + "\n").collect(Collectors.joining()))
+                .exchange();
+
+        //then
+        response.expectStatus().isOk()
+                .expectBody().json(asJsonString(new BulkCreateResult(getMagazines().size(), List.of())));
+    }
+
+    @Test
+    @DisplayName("GET /magazines/sort-by-title?order=XYZ Test - Failure")
+    public void testSortByTitleFailure() {
+        //given
+        //when
+        var response = webTestClient.get().uri("/magazines/sort-by-title?order=XYZ").exchange();
+
+        //then
+        response.expectStatus().isBadRequest();
+    }
+
+    private static String asJsonString(final Object obj) {
+        try {
+            return new ObjectMapper().writeValueAsString(obj);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<Magazine> getMagazines() {
+        return List.of(
+                new Magazine("a title", "111-234-340", List.of("author1@library.com", "autho2@libraray.com"), "01-01-2020"),
+                new Magazine("z title", "112-234-341", List.of("author3@library.com", "autho2@libraray.com"), "01-01-2020"),
+                new Magazine("o title", "113-234-342", List.of("author2@library.com", "autho5@libraray.com"), "01-01-2020")
+        );
+    }
+}
@@ -0,0 +1,122 @@
+package com.optimizely.library.csv;
+
+import com.optimizely.library.csv.mappers.BookMapper;
+import com.optimizely.library.model.Book;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CSVDataLoaderTest {
+
+    private final CSVDataLoader csvDataLoader = new CSVDataLoader();
+
+    @Test
+    public void shouldLoadBundledBooks() {
+        Optional<List<Book>> books = csvDataLoader.csvToObjects("buecher.csv", new BookMapper());
+
+        Assertions.assertTrue(books.isPresent());
+        assertEquals(8, books.get().size());
+        assertEquals(List.of("pr-ferdinand@optivo.de", "pr-lieblich@optivo.de"), books.get().get(1).getAuthors());
+    }
+
+    @Test
+    public void given_missingFile_shouldReturnEmpty() {
+        Assertions.assertTrue(csvDataLoader.csvToObjects("missing.csv", new BookMapper()).isEmpty());
+    }
+
+    @Test
+    public void given_unnamedColumn_shouldReturnEmpty() {
+        Resource csv = new ByteArrayResource("""
+                Titel;;ISBN-Nummer
+                a title;a;111-234-340
+                """.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertTrue(csvDataLoader.csvToObjects(csv, new BookMapper()).isEmpty());
+    }
+
+    @Test
+    public void shouldMapRecordsByColumnIndex() throws IOException {
+        //given
+        Resource csv = new ByteArrayResource("""
+                Kurzbeschreibung;Autoren;ISBN-Nummer;Titel
+                a good book;author1@library.com,author2@library.com;111-234-340;a title
+                """.getBytes(StandardCharsets.UTF_8));
+
+        //when
+        try (Stream<Book> books = csvDataLoader.csvToStream(csv, new BookMapper())) {
+
+            //then
+            Book book = books.findFirst().orElseThrow();
+            assertEquals("a title", book.getTitle());
+            assertEquals("111-234-340", book.getIsbn());
+            assertEquals(List.of("author1@library.com", "author2@library.com"), book.getAuthors());
+            assertEquals("a good book", book.getDescription());
+        }
+    }
+
+    @Test
+    public void shouldParseRecordsLazily() throws IOException {
+        //given
+        Resource csv = new ByteArrayResource("""
+                Titel;ISBN-Nummer
+                a title;111-234-340
+                b title;112-234-341
+                c title;113-234-342
+                """.getBytes(StandardCharsets.UTF_8));
+        AtomicInteger parsed = new AtomicInteger();
+
+        //when
+        try (Stream<String> isbns = csvDataLoader.csvToStream(new ClassPathResource("data/buecher.csv"), new BookMapper()).map(Book::getIsbn);
+             Stream<String> titles = csvDataLoader.csvToStream(csv, headerMap -> csvRecord -> {
+                 parsed.incrementAndGet();
+                 return csvRecord.get("Titel");
+             })) {
+
+            //then
+            assertEquals("5554-5545-4518", isbns.findFirst().orElseThrow());
+            assertEquals("a title", titles.findFirst().orElseThrow());
+            assertEquals(1, parsed.get());
+        }
+    }
+
+    @Test
+    public void given_missingColumn_shouldCloseTheFile() {
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        Resource csv = new ByteArrayResource("""
+                Titel;ISBN-Nummer
+                a title;111-234-340
+                """.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public void close() throws IOException {
+                        closed.set(true);
+                        super.close();
+                    }
+                };
+            }
+        };
+
+        //when
+        Assertions.assertThrows(IllegalArgumentException.class, () -> csvDataLoader.csvToStream(csv, new BookMapper()));
+
+        //then
+        Assertions.assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,136 @@
+package com.optimizely.library.csv.generator;
+
+import com.optimizely.library.csv.CSVDataLoader;
+import com.optimizely.library.csv.mappers.AuthorMapper;
+import com.optimizely.library.csv.mappers.BookMapper;
+import com.optimizely.library.csv.mappers.MagazineMapper;
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Magazine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CatalogueGeneratorTest {
+
+    private final CSVDataLoader csvDataLoader = new CSVDataLoader();
+
+    @Test
+    public void shouldWriteBooksTheBookMapperReadsBack() throws IOException {
+        //given
+        CatalogueGenerator generator = new CatalogueGenerator(50, 3, 1.0, 42);
+        StringBuilder csv = new StringBuilder();
+
+        //when
+        generator.writeBooks(csv, 1000);
+
+        //then
+        List<Book> expected = generator.books(1000).toList();
+        try (Stream<Book> books = csvDataLoader.csvToStream(resource(csv), new BookMapper())) {
+            List<Book> read = books.toList();
+            assertEquals(expected.size(), read.size());
+            for (int i = 0; i < read.size(); i++) {
+                assertEquals(expected.get(i).getTitle(), read.get(i).getTitle());
+                assertEquals(expected.get(i).getIsbn(), read.get(i).getIsbn());
+                assertEquals(expected.get(i).getAuthors(), read.get(i).getAuthors());
+                assertEquals(expected.get(i).getDescription(), read.get(i).getDescription());
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteMagazinesAndAuthorsTheirMappersReadBack() throws IOException {
+        //given
+        CatalogueGenerator generator = new CatalogueGenerator(50, 2, 0.5, 42);
+        StringBuilder magazinesCsv = new StringBuilder();
+        StringBuilder authorsCsv = new StringBuilder();
+
+        //when
+        generator.writeMagazines(magazinesCsv, 100);
+        generator.writeAuthors(authorsCsv);
+
+        //then
+        List<Magazine> expected = generator.magazines(100).toList();
+        try (Stream<Magazine> magazines = csvDataLoader.csvToStream(resource(magazinesCsv), new MagazineMapper())) {
+            List<Magazine> read = magazines.toList();
+            assertEquals(expected.stream().map(Magazine::getAuthors).toList(), read.stream().map(Magazine::getAuthors).toList());
+            assertEquals(expected.stream().map(Magazine::getPublicationDate).toList(), read.stream().map(Magazine::getPublicationDate).toList());
+        }
+        try (Stream<Author> authors = csvDataLoader.csvToStream(resource(authorsCsv), new AuthorMapper())) {
+            assertEquals(generator.authors().map(Author::getEmail).toList(), authors.map(Author::getEmail).toList());
+        }
+    }
+
+    @Test
+    public void shouldGiveEveryItemOneToMaxDistinctAuthors() {
+        //when
+        List<Book> books = new CatalogueGenerator(100, 4, 1.0, 42).books(10_000).toList();
+
+        //then
+        assertTrue(books.stream().allMatch(book -> book.getAuthors().size() >= 1 && book.getAuthors().size() <= 4));
+        assertTrue(books.stream().allMatch(book -> book.getAuthors().stream().distinct().count() == book.getAuthors().size()));
+        assertEquals(4, books.stream().mapToInt(book -> book.getAuthors().size()).max().orElseThrow());
+        assertEquals(10_000, books.stream().map(Book::getIsbn).distinct().count());
+    }
+
+    @Test
+    public void shouldSkewAuthorsTowardsTheFirstOnes() {
+        //when
+        Map<String, Long> uniform = booksPerAuthor(new CatalogueGenerator(100, 1, 0, 42));
+        Map<String, Long> skewed = booksPerAuthor(new CatalogueGenerator(100, 1, 1.2, 42));
+
+        //then
+        String first = CatalogueGenerator.email(0);
+        String last = CatalogueGenerator.email(99);
+        assertTrue(uniform.get(first) < 2 * uniform.get(last), uniform.toString());
+        assertTrue(skewed.get(first) > 50 * skewed.getOrDefault(last, 1L), skewed.toString());
+    }
+
+    @Test
+    public void shouldGenerateTheSameCatalogueForTheSameSeed() {
+        assertEquals(titles(new CatalogueGenerator(100, 3, 1.0, 7)), titles(new CatalogueGenerator(100, 3, 1.0, 7)));
+        assertNotEquals(titles(new CatalogueGenerator(100, 3, 1.0, 7)), titles(new CatalogueGenerator(100, 3, 1.0, 8)));
+    }
+
+    @Test
+    public void given_moreAuthorsPerItemThanAuthors_shouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new CatalogueGenerator(2, 3, 1.0, 42));
+    }
+
+    @Test
+    public void shouldWriteTheThreeFilesFromTheCommandLine(@TempDir Path directory) throws IOException {
+        //when
+        CatalogueGenerator.main(new String[]{"--out=" + directory, "--books=20", "--magazines=10", "--authors=5", "--max-authors-per-item=2"});
+
+        //then
+        assertEquals(5, csvDataLoader.csvToObjects(new FileSystemResource(directory.resolve(CatalogueGenerator.AUTHORS_FILE)), new AuthorMapper()).orElseThrow().size());
+        assertEquals(20, csvDataLoader.csvToObjects(new FileSystemResource(directory.resolve(CatalogueGenerator.BOOKS_FILE)), new BookMapper()).orElseThrow().size());
+        assertEquals(10, csvDataLoader.csvToObjects(new FileSystemResource(directory.resolve(CatalogueGenerator.MAGAZINES_FILE)), new MagazineMapper()).orElseThrow().size());
+    }
+
+    private static Map<String, Long> booksPerAuthor(CatalogueGenerator generator) {
+        return generator.books(20_000).collect(Collectors.groupingBy(book -> book.getAuthors().get(0), Collectors.counting()));
+    }
+
+    private static List<String> titles(CatalogueGenerator generator) {
+        return generator.books(50).map(Book::getTitle).toList();
+    }
+
+    private static ByteArrayResource resource(StringBuilder csv) {
+        return new ByteArrayResource(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
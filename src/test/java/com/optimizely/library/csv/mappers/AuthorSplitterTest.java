@@ -0,0 +1,18 @@
+package com.optimizely.library.csv.mappers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AuthorSplitterTest {
+
+    @Test
+    public void shouldSplitLikeStringSplit() {
+        for (String value : List.of("", "a", "a,b", "a,b,c", ",a", "a,,b", "a,", "a,,", ",", ",,", "a@x.de,b@y.de")) {
+            assertEquals(Arrays.asList(value.split(",")), AuthorSplitter.split(value), value);
+        }
+    }
+}
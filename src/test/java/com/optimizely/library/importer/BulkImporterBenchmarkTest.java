@@ -0,0 +1,68 @@
+package com.optimizely.library.importer;
+
+import com.optimizely.library.model.Book;
+import com.optimizely.library.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the per-document save() import path with {@link BulkImporter}.
+ * Run with {@code mvn test -Dtest=BulkImporterBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=100000]}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BulkImporterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    {
+        mongoDBContainer.start();
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BulkImporter bulkImporter;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Test
+    public void compareSavePerDocumentWithBulkInsert() {
+        //given
+        List<Book> books = IntStream.range(0, ROWS)
+                .mapToObj(i -> new Book("title " + i, "isbn-" + i, List.of("author" + (i % 100) + "@library.com"), "description " + i))
+                .toList();
+
+        //when
+        bookRepository.deleteAll();
+        long start = System.nanoTime();
+        books.forEach(bookRepository::save);
+        long perDocumentNanos = System.nanoTime() - start;
+        assertEquals(ROWS, bookRepository.count());
+
+        bookRepository.deleteAll();
+        ImportStats stats = bulkImporter.insert(books.stream(), Book.class);
+
+        //then
+        assertEquals(ROWS, bookRepository.count());
+        assertEquals(ROWS, stats.getDocuments());
+        System.out.printf("save() per document: %d rows/s%n", Math.round(ROWS * 1_000_000_000d / perDocumentNanos));
+        System.out.printf("bulk insert:         %d rows/s (%s)%n", Math.round(stats.rowsPerSecond()), stats);
+    }
+}
@@ -0,0 +1,125 @@
+package com.optimizely.library.importer;
+
+import com.optimizely.library.model.Book;
+import com.optimizely.library.repository.BookRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class DeltaImporterTest {
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    {
+        mongoDBContainer.start();
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private DeltaImporter deltaImporter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    public void beforeEachTest() {
+        mongoTemplate.dropCollection(Book.class);
+        mongoTemplate.createCollection(Book.class);
+        deltaImporter.forget(Book.class);
+    }
+
+    @Test
+    public void shouldOnlyWriteChangedRows() {
+        //given
+        importBooks(
+                new Book("a title", "111-234-340", List.of("author1@library.com"), "a good book"),
+                new Book("z title", "112-234-341", List.of("author2@library.com"), "a good book"),
+                new Book("o title", "113-234-342", List.of("author3@library.com"), "a good book"));
+
+        //when
+        DeltaReport report = importBooks(
+                new Book("a title", "111-234-340", List.of("author1@library.com"), "a good book"),
+                new Book("z title", "112-234-341", List.of("author2@library.com"), "a better book"),
+                new Book("c title", "114-234-343", List.of("author4@library.com"), "a good book"));
+
+        //then
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getDeleted());
+        assertEquals(1, report.getUnchanged());
+        assertEquals(3, bookRepository.count());
+        assertEquals("a better book", bookRepository.findOneByIsbn("112-234-341").orElseThrow().getDescription());
+        assertTrue(bookRepository.findOneByIsbn("113-234-342").isEmpty());
+    }
+
+    @Test
+    public void given_unchangedFile_shouldWriteNothing() {
+        Book book = new Book("a title", "111-234-340", List.of("author1@library.com"), "a good book");
+        importBooks(book);
+
+        DeltaReport report = importBooks(book);
+
+        assertEquals(0, report.getInserted() + report.getUpdated() + report.getDeleted());
+        assertEquals(1, report.getUnchanged());
+    }
+
+    @Test
+    public void given_rejectedRow_shouldWriteItAgainOnTheNextImport() {
+        //given
+        mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(Book.class))
+                .append("validator", new Document("description", new Document("$ne", "rejected"))));
+        Book accepted = new Book("a title", "111-234-340", List.of("author1@library.com"), "a good book");
+        Book rejected = new Book("z title", "112-234-341", List.of("author2@library.com"), "rejected");
+
+        //when
+        DeltaReport first = importBooks(accepted, rejected);
+        mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(Book.class))
+                .append("validator", new Document()));
+        DeltaReport second = importBooks(accepted, rejected);
+
+        //then
+        assertEquals(1, first.getInserted());
+        assertEquals(1, first.getFailed());
+        assertEquals(1, second.getInserted());
+        assertEquals(1, second.getUnchanged());
+        assertEquals(0, second.getFailed());
+        assertTrue(bookRepository.findOneByIsbn("112-234-341").isPresent());
+    }
+
+    @Test
+    public void given_repeatedKey_shouldKeepTheFirstRow() {
+        //when
+        DeltaReport report = importBooks(
+                new Book("a title", "111-234-340", List.of("author1@library.com"), "the first"),
+                new Book("a title", "111-234-340", List.of("author1@library.com"), "the second"));
+
+        //then
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getDuplicates());
+        assertEquals("the first", bookRepository.findOneByIsbn("111-234-340").orElseThrow().getDescription());
+    }
+
+    private DeltaReport importBooks(Book... books) {
+        return deltaImporter.importDelta(Stream.of(books), Book.class, "isbn", Book::getIsbn);
+    }
+}
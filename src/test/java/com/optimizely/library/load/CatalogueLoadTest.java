@@ -0,0 +1,148 @@
+package com.optimizely.library.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.optimizely.library.LibraryApplication;
+import com.optimizely.library.csv.generator.CatalogueGenerator;
+import com.optimizely.library.importer.BulkImporter;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.service.Pagination;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the catalogue read routes of the default stack against a Mongo container seeded with a million books and a
+ * million magazines, and writes the throughput and latency percentiles of every route and client count to a JSON
+ * report so that builds can be compared. Run with {@code mvn test -Dtest=CatalogueLoadTest -Dbenchmark=true
+ * [-Dbenchmark.books=1000000] [-Dbenchmark.magazines=1000000] [-Dbenchmark.clients=50,200] [-Dbenchmark.seconds=30]
+ * [-Dbenchmark.label=my-branch] [-Dbenchmark.report=target/load-report.json]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CatalogueLoadTest {
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 1_000_000);
+    private static final int MAGAZINES = Integer.getInteger("benchmark.magazines", 1_000_000);
+    private static final int AUTHORS = 10_000;
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 30);
+    private static final String CLIENTS = System.getProperty("benchmark.clients", "50,200");
+    private static final String LABEL = System.getProperty("benchmark.label", "local");
+    private static final Path REPORT = Path.of(System.getProperty("benchmark.report", "target/load-report.json"));
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    @BeforeAll
+    static void seed() {
+        mongoDBContainer.start();
+        try (ConfigurableApplicationContext context = start()) {
+            BulkImporter bulkImporter = context.getBean(BulkImporter.class);
+            CatalogueGenerator generator = new CatalogueGenerator(AUTHORS, 3, 1.0, 42);
+            bulkImporter.insert(generator.books(BOOKS), Book.class);
+            bulkImporter.insert(generator.magazines(MAGAZINES), Magazine.class);
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        mongoDBContainer.stop();
+    }
+
+    @Test
+    public void driveCatalogueRoutes() throws IOException {
+        LoadDriver driver = new LoadDriver();
+        List<LoadDriver.Result> results = new ArrayList<>();
+        try (ConfigurableApplicationContext context = start()) {
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            for (String clients : CLIENTS.split(",")) {
+                int count = Integer.parseInt(clients.trim());
+                routes(base).forEach((route, targets) -> results.add(driver.run(route, targets, count, Duration.ofSeconds(SECONDS))));
+            }
+        }
+
+        results.forEach(System.out::println);
+        writeReport(results);
+        System.out.println("Load report written to " + REPORT.toAbsolutePath());
+        results.forEach(result -> assertEquals(0, result.getErrors(), result.getName()));
+    }
+
+    /**
+     * Every route picks a random document, author or page on each request, so the caches see a realistic spread.
+     * The authors are Zipf distributed: the few most prolific ones have tens of thousands of items, most a few dozen.
+     */
+    private static Map<String, Supplier<URI>> routes(String base) {
+        Map<String, Supplier<URI>> routes = new LinkedHashMap<>();
+        routes.put("GET /books/isbn/{isbn}", () -> URI.create(base + "/books/isbn/" + CatalogueGenerator.isbn(random(BOOKS))));
+        routes.put("GET /books?limit=100", () -> URI.create(base + "/books?limit=100&cursor=" + Pagination.encode(CatalogueGenerator.isbn(random(BOOKS)))));
+        routes.put("GET /books/author/{author}", () -> URI.create(base + "/books/author/" + CatalogueGenerator.email(random(AUTHORS))));
+        routes.put("GET /books/sort-by-title?size=20", () -> URI.create(base + "/books/sort-by-title?order=ASC&size=20&page=" + random(50)));
+        routes.put("GET /magazines/isbn/{isbn}", () -> URI.create(base + "/magazines/isbn/" + CatalogueGenerator.isbn(random(MAGAZINES))));
+        routes.put("GET /magazines?limit=100", () -> URI.create(base + "/magazines?limit=100&cursor=" + Pagination.encode(CatalogueGenerator.isbn(random(MAGAZINES)))));
+        routes.put("GET /catalogue/search?author", () -> URI.create(base + "/catalogue/search?author=" + CatalogueGenerator.email(random(AUTHORS))));
+        return routes;
+    }
+
+    private static void writeReport(List<LoadDriver.Result> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", LABEL);
+        report.put("timestamp", Instant.now().toString());
+        report.put("java", Runtime.version().toString());
+        report.put("books", BOOKS);
+        report.put("magazines", MAGAZINES);
+        report.put("seconds", SECONDS);
+        report.put("results", results.stream().map(CatalogueLoadTest::toReport).toList());
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+    }
+
+    private static Map<String, Object> toReport(LoadDriver.Result result) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("endpoint", result.getName());
+        entry.put("clients", result.getClients());
+        entry.put("requests", result.getRequests());
+        entry.put("errors", result.getErrors());
+        entry.put("throughput", result.throughput());
+        entry.put("p50Millis", result.percentileMillis(50));
+        entry.put("p90Millis", result.percentileMillis(90));
+        entry.put("p95Millis", result.percentileMillis(95));
+        entry.put("p99Millis", result.percentileMillis(99));
+        entry.put("maxMillis", result.percentileMillis(100));
+        return entry;
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    /**
+     * Mongock creates the indexes, the CSV import is left out so the seeded data is all there is.
+     */
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(LibraryApplication.class)
+                .properties("server.port=0",
+                        "spring.data.mongodb.uri=" + mongoDBContainer.getReplicaSetUrl(),
+                        "mongock.enabled=true",
+                        "library.import.enabled=false")
+                .run();
+    }
+}
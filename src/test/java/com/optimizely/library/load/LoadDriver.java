@@ -0,0 +1,117 @@
+package com.optimizely.library.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Closed loop HTTP load generator: every simulated client sends its next request as soon as the previous one
+ * completed. Requests are sent asynchronously, so thousands of clients do not need thousands of threads.
+ */
+@RequiredArgsConstructor
+public class LoadDriver {
+    private final HttpClient httpClient;
+
+    public LoadDriver() {
+        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build());
+    }
+
+    /**
+     * Runs {@code clients} concurrent clients against the URIs produced by {@code targets} for {@code duration},
+     * after an unrecorded warm up lasting a tenth of it.
+     */
+    public Result run(String name, Supplier<URI> targets, int clients, Duration duration) {
+        drive(targets, clients, duration.dividedBy(10), new Recorder());
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        drive(targets, clients, duration, recorder);
+        return recorder.result(name, clients, System.nanoTime() - start);
+    }
+
+    private void drive(Supplier<URI> targets, int clients, Duration duration, Recorder recorder) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int client = 0; client < clients; client++) {
+            loops[client] = loop(targets, deadline, recorder);
+        }
+        CompletableFuture.allOf(loops).join();
+    }
+
+    private CompletableFuture<Void> loop(Supplier<URI> targets, long deadline, Recorder recorder) {
+        if (System.nanoTime() > deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(targets.get()).timeout(Duration.ofSeconds(60)).GET().build();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    recorder.record(System.nanoTime() - start, failure == null && response.statusCode() < 500);
+                    return null;
+                })
+                .thenCompose(ignored -> loop(targets, deadline, recorder));
+    }
+
+    public static <T> T pick(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private static class Recorder {
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private long errors;
+
+        synchronized void record(long nanos, boolean success) {
+            if (!success) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized Result result(String name, int clients, long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(name, clients, count, errors, elapsedNanos, sorted);
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    public static class Result {
+        private final String name;
+        private final int clients;
+        private final long requests;
+        private final long errors;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        public double throughput() {
+            return requests * 1_000_000_000d / elapsedNanos;
+        }
+
+        public double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000d;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s clients=%-6d requests=%-9d errors=%-6d %9.0f req/s  p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms",
+                    name, clients, requests, errors, throughput(), percentileMillis(50), percentileMillis(99), percentileMillis(100));
+        }
+    }
+}
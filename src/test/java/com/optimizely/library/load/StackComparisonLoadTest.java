@@ -0,0 +1,102 @@
+package com.optimizely.library.load;
+
+import com.optimizely.library.LibraryApplication;
+import com.optimizely.library.importer.BulkImporter;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.service.Pagination;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares throughput and tail latency of the servlet stack on platform threads, on virtual threads (the
+ * {@code virtual-threads} profile, needs a Java 21+ runtime) and of the {@code reactive} profile under the same load.
+ * Run with {@code mvn test -Dtest=StackComparisonLoadTest -Dbenchmark=true [-Dbenchmark.books=100000]
+ * [-Dbenchmark.clients=1000,2500,5000,10000] [-Dbenchmark.seconds=30]}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class StackComparisonLoadTest {
+
+    private static final int BOOKS = Integer.getInteger("benchmark.books", 100_000);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 30);
+    private static final String CLIENTS = System.getProperty("benchmark.clients", "1000,2500,5000,10000");
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    private static String[] isbns;
+
+    @BeforeAll
+    static void seed() {
+        mongoDBContainer.start();
+        isbns = IntStream.range(0, BOOKS).mapToObj(i -> String.format("isbn-%08d", i)).toArray(String[]::new);
+        try (ConfigurableApplicationContext context = start()) {
+            context.getBean(BulkImporter.class).insert(IntStream.range(0, BOOKS)
+                    .mapToObj(i -> new Book("title " + i, isbns[i], List.of("author" + (i % 1000) + "@library.com"), "description " + i)), Book.class);
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        mongoDBContainer.stop();
+    }
+
+    @Test
+    public void compareStacks() {
+        List<LoadDriver.Result> results = new ArrayList<>();
+        results.addAll(drive("platform threads"));
+        results.addAll(drive("virtual threads", "virtual-threads"));
+        results.addAll(drive("reactive", "reactive"));
+
+        System.out.println("Stack comparison over " + BOOKS + " books, " + SECONDS + " s per run");
+        results.forEach(System.out::println);
+        results.forEach(result -> assertEquals(0, result.getErrors(), result.getName()));
+    }
+
+    /**
+     * Boots the application with the given profiles and runs every client count against two routes:
+     * an indexed single document lookup and a keyset page.
+     */
+    static List<LoadDriver.Result> drive(String name, String... profiles) {
+        LoadDriver driver = new LoadDriver();
+        List<LoadDriver.Result> results = new ArrayList<>();
+        try (ConfigurableApplicationContext context = start(profiles)) {
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            for (String clients : CLIENTS.split(",")) {
+                int count = Integer.parseInt(clients.trim());
+                results.add(driver.run(name + " GET /books/isbn", () -> URI.create(base + "/books/isbn/" + LoadDriver.pick(isbns)), count, Duration.ofSeconds(SECONDS)));
+                results.add(driver.run(name + " GET /books?limit=100", () -> URI.create(base + "/books?limit=100&cursor=" + Pagination.encode(LoadDriver.pick(isbns))), count, Duration.ofSeconds(SECONDS)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The ISBN cache is switched off, so every stack pays for the Mongo round trip on every request. Tomcat accepts
+     * as many connections as there are clients, so the platform thread pool is the limit of the default stack.
+     */
+    static ConfigurableApplicationContext start(String... profiles) {
+        return new SpringApplicationBuilder(LibraryApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0",
+                        "spring.data.mongodb.uri=" + mongoDBContainer.getReplicaSetUrl(),
+                        "spring.cache.type=none",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=1000",
+                        "mongock.enabled=true",
+                        "library.import.enabled=false")
+                .run();
+    }
+}
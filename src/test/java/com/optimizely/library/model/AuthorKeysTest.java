@@ -0,0 +1,26 @@
+package com.optimizely.library.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuthorKeysTest {
+
+    @Test
+    public void shouldLowercaseAndDeduplicate() {
+        assertEquals(List.of("pr-walter@optivo.de", "null-walter@echocat.org"),
+                AuthorKeys.of(List.of("PR-Walter@optivo.de", " null-walter@echocat.org", "pr-walter@optivo.de")));
+    }
+
+    @Test
+    public void shouldBoundEveryKeyWithPrefix() {
+        String upper = AuthorKeys.prefixUpperBound("pr-walter");
+        for (String key : List.of("pr-walter", "pr-walter@optivo.de", "pr-walter~")) {
+            assertTrue(key.compareTo(upper) < 0, key);
+        }
+        assertTrue("pr-waltes".compareTo(upper) >= 0);
+    }
+}
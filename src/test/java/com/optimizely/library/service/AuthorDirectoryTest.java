@@ -0,0 +1,68 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.Author;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.ExpandedBook;
+import com.optimizely.library.model.ExpandedMagazine;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.repository.AuthorRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AuthorDirectoryTest {
+
+    @Test
+    public void shouldResolveAuthorsFromOneSnapshot() {
+        //given
+        AuthorRepository authorRepository = mock(AuthorRepository.class);
+        when(authorRepository.findAll()).thenReturn(List.of(new Author("pr-walter@optivo.de", "Paul", "Walter")));
+        AuthorDirectory authorDirectory = new AuthorDirectory(authorRepository);
+
+        //when
+        ExpandedBook first = authorDirectory.expand(new Book("a title", "111-234-340", List.of("PR-Walter@optivo.de", "unknown@optivo.de"), "a good book"));
+        ExpandedBook second = authorDirectory.expand(new Book("z title", "112-234-341", List.of("pr-walter@optivo.de"), "a good book"));
+
+        //then
+        assertEquals("Paul", first.getAuthors().get(0).getFirstName());
+        assertEquals("unknown@optivo.de", first.getAuthors().get(1).getEmail());
+        assertNull(first.getAuthors().get(1).getLastName());
+        assertEquals("Walter", second.getAuthors().get(0).getLastName());
+        verify(authorRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void given_bookWithoutAuthors_shouldExpandToNoAuthors() {
+        //given
+        AuthorDirectory authorDirectory = new AuthorDirectory(mock(AuthorRepository.class));
+
+        //when
+        ExpandedBook book = authorDirectory.expand(new Book("a title", "111-234-340", null, "a good book"));
+        ExpandedMagazine magazine = authorDirectory.expand(new Magazine("a title", "211-234-340", null, "01-01-2022"));
+
+        //then
+        assertEquals(List.of(), book.getAuthors());
+        assertEquals(List.of(), magazine.getAuthors());
+    }
+
+    @Test
+    public void given_authorWithoutEmail_shouldSkipIt() {
+        //given
+        AuthorRepository authorRepository = mock(AuthorRepository.class);
+        when(authorRepository.findAll()).thenReturn(List.of(new Author(null, "Nobody", "Known"), new Author("pr-walter@optivo.de", "Paul", "Walter")));
+        AuthorDirectory authorDirectory = new AuthorDirectory(authorRepository);
+
+        //when
+        authorDirectory.refresh();
+
+        //then
+        assertEquals("Paul", authorDirectory.get("pr-walter@optivo.de").getFirstName());
+    }
+}
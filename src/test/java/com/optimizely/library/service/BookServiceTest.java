@@ -1,13 +1,29 @@
 package com.optimizely.library.service;
 
+import com.optimizely.library.model.AuthorKeys;
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
 import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.BulkCreateResult.BulkCreateError;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
 import com.optimizely.library.repository.BookRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
@@ -15,6 +31,7 @@ import org.testcontainers.containers.MongoDBContainer;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,6 +50,15 @@ public class BookServiceTest {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CatalogueVersions catalogueVersions;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @DynamicPropertySource
     static void setProperties(DynamicPropertyRegistry registry) {
         System.out.println(mongoDBContainer.getReplicaSetUrl());
@@ -66,6 +92,26 @@ public class BookServiceTest {
         assertEquals(bookRepository.findAll(), books);
     }
 
+    @Test
+    public void shouldPageThroughBooksOrderedByIsbn() {
+        //given
+        List<Book> expectedBooks = bookRepository.findAll()
+                .stream()
+                .sorted(Comparator.comparing(Book::getIsbn))
+                .toList();
+
+        //when
+        CursorPage<Book> firstPage = bookService.findBooks(null, 2);
+        CursorPage<Book> secondPage = bookService.findBooks(firstPage.getNextCursor(), 2);
+        CursorPage<Book> lastPage = bookService.findBooks(secondPage.getNextCursor(), 2);
+
+        //then
+        assertEquals(expectedBooks.subList(0, 2), firstPage.getItems());
+        assertEquals(expectedBooks.subList(2, 4), secondPage.getItems());
+        assertEquals(expectedBooks.subList(4, 5), lastPage.getItems());
+        Assertions.assertNull(lastPage.getNextCursor());
+    }
+
     @Test
     public void given_existingIsbn_shouldReturnBookByIsbn() {
         String isbn = "113-234-342";
@@ -76,6 +122,75 @@ public class BookServiceTest {
         }).orElseGet(Assertions::fail);
     }
 
+    @Test
+    public void given_isbns_shouldReturnFoundAndMissing() {
+        //when
+        BatchLookup<Book> lookup = bookService.findBooksByIsbns(List.of("113-234-342", "non_existant_isbn", "111-234-340", "113-234-342"));
+
+        //then
+        assertEquals(List.of("113-234-342", "111-234-340"), lookup.getFound().stream().map(Book::getIsbn).toList());
+        assertEquals(List.of("non_existant_isbn"), lookup.getMissing());
+    }
+
+    @Test
+    public void given_duplicateIsbns_shouldCreateTheOthersAndReportDuplicates() {
+        //given
+        mongoTemplate.indexOps(Book.class).ensureIndex(new Index("isbn", Sort.Direction.ASC).unique());
+        List<Book> books = List.of(
+                new Book("new title", "200-000-001", List.of("author@gmail.com"), "a good book"),
+                new Book("dup title", "111-234-340", List.of("author@gmail.com"), "a good book"),
+                new Book("no isbn", null, List.of("author@gmail.com"), "a good book"),
+                new Book("other title", "200-000-002", List.of("author@gmail.com"), "a good book")
+        );
+
+        //when
+        BulkCreateResult result = bookService.createBooks(books.stream());
+
+        //then
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(1L, 2L), result.getErrors().stream().map(BulkCreateError::getIndex).toList());
+        assertEquals(List.of(BulkCreateError.DUPLICATE_ISBN, BulkCreateError.MISSING_ISBN), result.getErrors().stream().map(BulkCreateError::getError).toList());
+        assertTrue(bookRepository.findOneByIsbn("200-000-002").isPresent());
+    }
+
+    @Test
+    public void given_terms_shouldRankTitleMatchesFirst() {
+        //given
+        ensureDeclaredIndexes();
+        bookRepository.insert(List.of(
+                new Book("Gartenarbeit", "300-000-002", List.of("author@gmail.com"), "Alles über Kirschen und Äpfel"),
+                new Book("Die Kirschen", "300-000-001", List.of("author@gmail.com"), "Ein Roman")));
+
+        //when
+        List<SearchHit<Book>> hits = bookService.searchBooks("Kirsche", 0, 10);
+
+        //then
+        assertEquals(List.of("300-000-001", "300-000-002"), hits.stream().map(hit -> hit.getItem().getIsbn()).toList());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+        assertTrue(bookService.searchBooks("Kirsche", 1, 10).isEmpty());
+    }
+
+    @Test
+    public void given_authorInOtherCase_shouldMatchIgnoringCase() {
+        //when
+        List<Book> books = bookService.findBooksByAuthor("AUTHOR2@Library.com", AuthorMatch.IGNORE_CASE);
+
+        //then
+        assertEquals(List.of("113-234-342"), books.stream().map(Book::getIsbn).toList());
+    }
+
+    @Test
+    public void given_authorPrefix_shouldMatchEveryAuthorStartingWithIt() {
+        //when
+        List<Book> books = bookService.findBooksByAuthor("Autho2@", AuthorMatch.PREFIX);
+
+        //then
+        assertEquals(List.of("111-234-340", "112-234-341"), books.stream().map(Book::getIsbn).sorted().toList());
+        assertTrue(mongoTemplate.findAll(Document.class, mongoTemplate.getCollectionName(Book.class))
+                .stream()
+                .allMatch(document -> document.containsKey(AuthorKeys.FIELD)));
+    }
+
     @Test
     public void given_nonExistingIsbn_shouldReturnEmpty() {
         String isbn = "non_existant_isbn";
@@ -83,6 +198,36 @@ public class BookServiceTest {
         Assertions.assertTrue(mayBeBook.isEmpty());
     }
 
+    @Test
+    public void given_cachedMiss_shouldEvictOnCreate() {
+        //given
+        String isbn = "cached-isbn";
+        Cache cache = cacheManager.getCache(CacheNames.BOOKS_BY_ISBN);
+        cache.evict(isbn);
+        Assertions.assertTrue(bookService.findBookByIsbn(isbn).isEmpty());
+        Assertions.assertNotNull(cache.get(isbn));
+
+        //when
+        bookService.createBook(new Book("Title", isbn, List.of("author@gmail.com"), "a good book"));
+
+        //then
+        Assertions.assertNull(cache.get(isbn));
+        Assertions.assertTrue(bookService.findBookByIsbn(isbn).isPresent());
+    }
+
+    @Test
+    public void given_missingIsbn_shouldCreateWithoutEvicting() {
+        //given
+        Book book = new Book("Title", null, List.of("author@gmail.com"), "a good book");
+
+        //when
+        Book created = bookService.createBook(book);
+
+        //then
+        Assertions.assertNull(created.getIsbn());
+        Assertions.assertEquals(6, bookRepository.count());
+    }
+
     @Test
     public void given_author_shouldReturnBooksWrittenByAuthor() {
         //given
@@ -120,6 +265,23 @@ public class BookServiceTest {
 
     }
 
+    @Test
+    public void given_page_shouldReturnPageOfBooksSortedByTitle() {
+        //when
+        List<Book> secondPage = bookService.findBooksOrderedByTitle(Order.ASC, 1, 2);
+
+        //then
+        List<Book> expectedBooks = bookRepository
+                .findAll()
+                .stream()
+                .sorted(Comparator.comparing(Book::getTitle))
+                .skip(2)
+                .limit(2)
+                .toList();
+
+        Assertions.assertEquals(expectedBooks, secondPage);
+    }
+
     @Test
     public void given_ascendingOrder_shouldReturnBooksSortedByTitleByAscendingOrder() {
         //given
@@ -138,4 +300,52 @@ public class BookServiceTest {
         Assertions.assertEquals(expectedBooks, booksSortedByTitleAsc);
 
     }
+
+    @Test
+    public void shouldChangeEtagWhenBooksAreCreated() {
+        //given
+        String before = catalogueVersions.etag(Book.class);
+
+        //when
+        bookService.createBook(new Book("Title", "ISBN-2", List.of("author@gmail.com"), "A very good book"));
+        String afterCreate = catalogueVersions.etag(Book.class);
+        bookService.createBooks(Stream.of(new Book("Title", "ISBN-3", List.of("author@gmail.com"), "A very good book")));
+
+        //then
+        assertNotEquals(before, afterCreate);
+        assertNotEquals(afterCreate, catalogueVersions.etag(Book.class));
+    }
+
+    @Test
+    public void given_fields_shouldReadOnlyRequestedFieldsAndIsbn() {
+        //when
+        List<Book> books = bookService.findBooksOrderedByTitle(Order.ASC, "title");
+
+        //then
+        assertEquals(5, books.size());
+        assertEquals("a title", books.get(0).getTitle());
+        assertEquals("111-234-340", books.get(0).getIsbn());
+        assertNull(books.get(0).getAuthors());
+        assertNull(books.get(0).getDescription());
+    }
+
+    @Test
+    public void given_fieldsAndAuthor_shouldReadOnlyRequestedFieldsOfMatchingBooks() {
+        //when
+        List<Book> books = bookService.findBooksByAuthor("autho2@libraray.com", "authors");
+
+        //then
+        assertEquals(List.of("111-234-340", "112-234-341"), books.stream().map(Book::getIsbn).sorted().toList());
+        assertTrue(books.stream().allMatch(book -> book.getTitle() == null && book.getAuthors() != null));
+    }
+
+    @Test
+    public void given_unknownField_shouldFail() {
+        assertThrows(InvalidQueryException.class, () -> bookService.findAllBooks("title,price"));
+    }
+
+    private void ensureDeclaredIndexes() {
+        IndexResolver indexResolver = new MongoPersistentEntityIndexResolver((MongoMappingContext) mongoTemplate.getConverter().getMappingContext());
+        indexResolver.resolveIndexFor(Book.class).forEach(mongoTemplate.indexOps(Book.class)::ensureIndex);
+    }
 }
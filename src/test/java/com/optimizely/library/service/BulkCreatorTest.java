@@ -0,0 +1,62 @@
+package com.optimizely.library.service;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.optimizely.library.controller.NdjsonReader;
+import com.optimizely.library.importer.BulkImporter;
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.BulkCreateResult.BulkCreateError;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BulkCreatorTest {
+
+    @Test
+    public void given_malformedLineAfterTheFirstBatch_shouldReportItAndCreateTheOthers() {
+        //given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulkOps = mock(BulkOperations.class);
+        when(mongoTemplate.getCollectionName(Book.class)).thenReturn("book");
+        when(mongoTemplate.bulkOps(any(), any(Class.class))).thenReturn(bulkOps);
+        BulkImporter bulkImporter = new BulkImporter(mongoTemplate);
+        ReflectionTestUtils.setField(bulkImporter, "batchSize", 2);
+        String body = """
+                {"title": "a title", "isbn": "111-234-340", "authors": ["author1@library.com"]}
+                {"title": "b title", "isbn": "111-234-341", "authors": ["author1@library.com"]}
+                {"title": "c title", "isbn": "111-234-342", "authors": ["author1@library.com"]}
+                {"title": "d title", "isbn":
+
+                {"title": "e title", "isbn": "111-234-344", "authors": ["author1@library.com"]}
+                """;
+
+        //when
+        NdjsonReader reader = new NdjsonReader(Jackson2ObjectMapperBuilder.json().modules(new ParameterNamesModule(JsonCreator.Mode.DEFAULT)).build());
+        BulkCreateResult result;
+        try (Stream<Book> books = reader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), Book.class)) {
+            result = new BulkCreator(bulkImporter).create(books, Book.class, Book::getIsbn);
+        }
+
+        //then
+        assertEquals(4, result.getCreated());
+        assertEquals(List.of(3L), result.getErrors().stream().map(BulkCreateError::getIndex).toList());
+        assertEquals(BulkCreateError.MALFORMED, result.getErrors().get(0).getError());
+        verify(bulkOps, times(2)).insert(anyList());
+    }
+}
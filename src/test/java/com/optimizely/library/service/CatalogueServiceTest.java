@@ -0,0 +1,82 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.CatalogueItem;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.repository.BookRepository;
+import com.optimizely.library.repository.MagazineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class CatalogueServiceTest {
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    {
+        mongoDBContainer.start();
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MagazineRepository magazineRepository;
+
+    @Autowired
+    private CatalogueService catalogueService;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    public void beforeEachTest() {
+        bookRepository.deleteAll();
+        magazineRepository.deleteAll();
+        bookRepository.insert(List.of(
+                new Book("Zebra", "111-234-340", List.of("author1@library.com"), "a good book"),
+                new Book("Äpfel", "112-234-341", List.of("author1@library.com", "author2@library.com"), "a good book"),
+                new Book("Kirschen", "113-234-342", List.of("author2@library.com"), "a good book")));
+        magazineRepository.insert(List.of(
+                new Magazine("Birnen", "211-234-340", List.of("author1@library.com"), "01-01-2022"),
+                new Magazine("Pflaumen", "212-234-341", List.of("author1@library.com"), "01-01-2022")));
+    }
+
+    @Test
+    public void given_author_shouldMergeBooksAndMagazinesByTitle() {
+        //when
+        List<CatalogueItem> items = catalogueService.findByAuthor("author1@library.com", Order.ASC, 0, 20);
+
+        //then
+        assertEquals(List.of("Äpfel", "Birnen", "Pflaumen", "Zebra"), items.stream().map(CatalogueItem::getTitle).toList());
+        assertEquals(List.of(CatalogueItem.Type.BOOK, CatalogueItem.Type.MAGAZINE, CatalogueItem.Type.MAGAZINE, CatalogueItem.Type.BOOK),
+                items.stream().map(CatalogueItem::getType).toList());
+    }
+
+    @Test
+    public void given_page_shouldReturnPageOfMergedList() {
+        //when
+        List<CatalogueItem> items = catalogueService.findByAuthor("author1@library.com", Order.DESC, 1, 2);
+
+        //then
+        assertEquals(List.of("Birnen", "Äpfel"), items.stream().map(CatalogueItem::getTitle).toList());
+    }
+
+    @Test
+    public void given_windowBeyondLimit_shouldRejectQuery() {
+        assertThrows(InvalidQueryException.class, () -> catalogueService.findByAuthor("author1@library.com", Order.ASC, 10, 100));
+    }
+}
@@ -1,14 +1,30 @@
 package com.optimizely.library.service;
 
+import com.optimizely.library.model.AuthorKeys;
+import com.optimizely.library.model.AuthorMatch;
+import com.optimizely.library.model.BatchLookup;
 import com.optimizely.library.model.Book;
+import com.optimizely.library.model.BulkCreateResult;
+import com.optimizely.library.model.BulkCreateResult.BulkCreateError;
+import com.optimizely.library.model.CursorPage;
 import com.optimizely.library.model.Magazine;
 import com.optimizely.library.model.Order;
+import com.optimizely.library.model.SearchHit;
 import com.optimizely.library.repository.MagazineRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
@@ -16,8 +32,13 @@ import org.testcontainers.containers.MongoDBContainer;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 public class MagazineServiceTest {
@@ -34,6 +55,15 @@ public class MagazineServiceTest {
     @Autowired
     private MagazineService magazineService;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CatalogueVersions catalogueVersions;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @DynamicPropertySource
     static void setProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
@@ -66,6 +96,26 @@ public class MagazineServiceTest {
         assertEquals(5, magazines.size());
     }
 
+    @Test
+    public void shouldPageThroughMagazinesOrderedByIsbn() {
+        //given
+        List<Magazine> expectedMagazines = magazineRepository.findAll()
+                .stream()
+                .sorted(Comparator.comparing(Magazine::getIsbn))
+                .toList();
+
+        //when
+        CursorPage<Magazine> firstPage = magazineService.findMagazines(null, 2);
+        CursorPage<Magazine> secondPage = magazineService.findMagazines(firstPage.getNextCursor(), 2);
+        CursorPage<Magazine> lastPage = magazineService.findMagazines(secondPage.getNextCursor(), 2);
+
+        //then
+        assertEquals(expectedMagazines.subList(0, 2), firstPage.getItems());
+        assertEquals(expectedMagazines.subList(2, 4), secondPage.getItems());
+        assertEquals(expectedMagazines.subList(4, 5), lastPage.getItems());
+        Assertions.assertNull(lastPage.getNextCursor());
+    }
+
     @Test
     public void given_existingIsbn_shouldReturnMagazineByIsbn() {
         String isbn = "113-234-342";
@@ -76,6 +126,74 @@ public class MagazineServiceTest {
         }).orElseGet(Assertions::fail);
     }
 
+    @Test
+    public void given_isbns_shouldReturnFoundAndMissing() {
+        //when
+        BatchLookup<Magazine> lookup = magazineService.findMagazinesByIsbns(List.of("113-234-342", "non_existant_isbn", "111-234-340", "113-234-342"));
+
+        //then
+        assertEquals(List.of("113-234-342", "111-234-340"), lookup.getFound().stream().map(Magazine::getIsbn).toList());
+        assertEquals(List.of("non_existant_isbn"), lookup.getMissing());
+    }
+
+    @Test
+    public void given_duplicateIsbns_shouldCreateTheOthersAndReportDuplicates() {
+        //given
+        mongoTemplate.indexOps(Magazine.class).ensureIndex(new Index("isbn", Sort.Direction.ASC).unique());
+        List<Magazine> magazines = List.of(
+                new Magazine("new title", "200-000-001", List.of("author@gmail.com"), "01-01-2022"),
+                new Magazine("dup title", "111-234-340", List.of("author@gmail.com"), "01-01-2022"),
+                new Magazine("no isbn", null, List.of("author@gmail.com"), "01-01-2022"),
+                new Magazine("other title", "200-000-002", List.of("author@gmail.com"), "01-01-2022")
+        );
+
+        //when
+        BulkCreateResult result = magazineService.createMagazines(magazines.stream());
+
+        //then
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(1L, 2L), result.getErrors().stream().map(BulkCreateError::getIndex).toList());
+        assertEquals(List.of(BulkCreateError.DUPLICATE_ISBN, BulkCreateError.MISSING_ISBN), result.getErrors().stream().map(BulkCreateError::getError).toList());
+        assertTrue(magazineRepository.findOneByIsbn("200-000-002").isPresent());
+    }
+
+    @Test
+    public void given_terms_shouldReturnMatchesByRelevance() {
+        //given
+        ensureDeclaredIndexes();
+        magazineRepository.insert(List.of(
+                new Magazine("Kirschen im Garten", "300-000-001", List.of("author@gmail.com"), "01-01-2022"),
+                new Magazine("Kirschen, Kirschen, Kirschen", "300-000-002", List.of("author@gmail.com"), "01-01-2022")));
+
+        //when
+        List<SearchHit<Magazine>> hits = magazineService.searchMagazines("Kirsche", 0, 10);
+
+        //then
+        assertEquals(List.of("300-000-002", "300-000-001"), hits.stream().map(hit -> hit.getItem().getIsbn()).toList());
+        assertTrue(magazineService.searchMagazines("Zeitung", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void given_authorInOtherCase_shouldMatchIgnoringCase() {
+        //when
+        List<Magazine> magazines = magazineService.findMagazinesByAuthor("AUTHOR2@Library.com", AuthorMatch.IGNORE_CASE);
+
+        //then
+        assertEquals(List.of("113-234-342"), magazines.stream().map(Magazine::getIsbn).toList());
+    }
+
+    @Test
+    public void given_authorPrefix_shouldMatchEveryAuthorStartingWithIt() {
+        //when
+        List<Magazine> magazines = magazineService.findMagazinesByAuthor("Autho2@", AuthorMatch.PREFIX);
+
+        //then
+        assertEquals(List.of("111-234-340", "112-234-341"), magazines.stream().map(Magazine::getIsbn).sorted().toList());
+        assertTrue(mongoTemplate.findAll(Document.class, mongoTemplate.getCollectionName(Magazine.class))
+                .stream()
+                .allMatch(document -> document.containsKey(AuthorKeys.FIELD)));
+    }
+
     @Test
     public void given_nonExistingIsbn_shouldReturnEmpty() {
         String isbn = "non_existant_isbn";
@@ -83,6 +201,36 @@ public class MagazineServiceTest {
         Assertions.assertTrue(mayBeMagazine.isEmpty());
     }
 
+    @Test
+    public void given_cachedMiss_shouldEvictOnCreate() {
+        //given
+        String isbn = "cached-isbn";
+        Cache cache = cacheManager.getCache(CacheNames.MAGAZINES_BY_ISBN);
+        cache.evict(isbn);
+        Assertions.assertTrue(magazineService.findMagazineByIsbn(isbn).isEmpty());
+        Assertions.assertNotNull(cache.get(isbn));
+
+        //when
+        magazineService.createMagazine(new Magazine("Title", isbn, List.of("author@gmail.com"), "01-01-2022"));
+
+        //then
+        Assertions.assertNull(cache.get(isbn));
+        Assertions.assertTrue(magazineService.findMagazineByIsbn(isbn).isPresent());
+    }
+
+    @Test
+    public void given_missingIsbn_shouldCreateWithoutEvicting() {
+        //given
+        Magazine magazine = new Magazine("Title", null, List.of("author@gmail.com"), "01-01-2022");
+
+        //when
+        Magazine created = magazineService.createMagazine(magazine);
+
+        //then
+        Assertions.assertNull(created.getIsbn());
+        Assertions.assertEquals(6, magazineRepository.count());
+    }
+
     @Test
     public void given_author_shouldReturnMagazineWrittenByAuthor() {
         //given
@@ -120,6 +268,23 @@ public class MagazineServiceTest {
 
     }
 
+    @Test
+    public void given_page_shouldReturnPageOfMagazinesSortedByTitle() {
+        //when
+        List<Magazine> secondPage = magazineService.findMagazinesOrderedByTitle(Order.ASC, 1, 2);
+
+        //then
+        List<Magazine> expectedMagazines = magazineRepository
+                .findAll()
+                .stream()
+                .sorted(Comparator.comparing(Magazine::getTitle))
+                .skip(2)
+                .limit(2)
+                .toList();
+
+        Assertions.assertEquals(expectedMagazines, secondPage);
+    }
+
     @Test
     public void given_ascendingOrder_shouldReturnMagazinesSortedByTitleByAscendingOrder() {
         //given
@@ -138,4 +303,52 @@ public class MagazineServiceTest {
         Assertions.assertEquals(expectedMagazines, magazinesSortedByTitleAsc);
 
     }
+
+    @Test
+    public void shouldChangeEtagWhenMagazinesAreCreated() {
+        //given
+        String before = catalogueVersions.etag(Magazine.class);
+
+        //when
+        magazineService.createMagazine(new Magazine("Title", "ISBN-2", List.of("author@gmail.com"), "01.01.1104"));
+        String afterCreate = catalogueVersions.etag(Magazine.class);
+        magazineService.createMagazines(Stream.of(new Magazine("Title", "ISBN-3", List.of("author@gmail.com"), "01.01.1104")));
+
+        //then
+        assertNotEquals(before, afterCreate);
+        assertNotEquals(afterCreate, catalogueVersions.etag(Magazine.class));
+    }
+
+    @Test
+    public void given_fields_shouldReadOnlyRequestedFieldsAndIsbn() {
+        //when
+        List<Magazine> magazines = magazineService.findMagazinesOrderedByTitle(Order.ASC, "title");
+
+        //then
+        assertEquals(5, magazines.size());
+        assertEquals("a title", magazines.get(0).getTitle());
+        assertEquals("111-234-340", magazines.get(0).getIsbn());
+        assertNull(magazines.get(0).getAuthors());
+        assertNull(magazines.get(0).getPublicationDate());
+    }
+
+    @Test
+    public void given_fieldsAndAuthor_shouldReadOnlyRequestedFieldsOfMatchingMagazines() {
+        //when
+        List<Magazine> magazines = magazineService.findMagazinesByAuthor("autho2@libraray.com", "authors");
+
+        //then
+        assertEquals(List.of("111-234-340", "112-234-341"), magazines.stream().map(Magazine::getIsbn).sorted().toList());
+        assertTrue(magazines.stream().allMatch(magazine -> magazine.getTitle() == null && magazine.getAuthors() != null));
+    }
+
+    @Test
+    public void given_unknownField_shouldFail() {
+        assertThrows(InvalidQueryException.class, () -> magazineService.findAllMagazines("title,price"));
+    }
+
+    private void ensureDeclaredIndexes() {
+        IndexResolver indexResolver = new MongoPersistentEntityIndexResolver((MongoMappingContext) mongoTemplate.getConverter().getMappingContext());
+        indexResolver.resolveIndexFor(Magazine.class).forEach(mongoTemplate.indexOps(Magazine.class)::ensureIndex);
+    }
 }
@@ -0,0 +1,130 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+public class ReactiveBookServiceTest {
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    {
+        mongoDBContainer.start();
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReactiveBookService bookService;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    public void beforeEachTest() {
+        bookRepository.deleteAll();
+        bookRepository.insert(getBooks());
+    }
+
+    @Test
+    public void shouldStreamPrePopulatedBooks() {
+        StepVerifier.create(bookService.findAllBooks().map(Book::getIsbn).collectList())
+                .expectNext(bookRepository.findAll().stream().map(Book::getIsbn).toList())
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_existingIsbn_shouldReturnBookByIsbn() {
+        StepVerifier.create(bookService.findBookByIsbn("113-234-342"))
+                .expectNextMatches(book -> book.getIsbn().equals("113-234-342"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_nonExistingIsbn_shouldComplete() {
+        StepVerifier.create(bookService.findBookByIsbn("non_existant_isbn"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldPageThroughBooksOrderedByIsbn() {
+        StepVerifier.create(bookService.findBooks(null, 3))
+                .assertNext(page -> assertEquals(List.of("111-234-340", "112-234-341", "113-234-342"), page.getItems().stream().map(Book::getIsbn).toList()))
+                .verifyComplete();
+        StepVerifier.create(bookService.findBooks(Pagination.encode("113-234-342"), 3))
+                .assertNext(page -> {
+                    assertEquals(List.of("114-234-343", "116-234-344"), page.getItems().stream().map(Book::getIsbn).toList());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_invalidLimit_shouldFailWithInvalidQuery() {
+        StepVerifier.create(bookService.findBooks(null, 0))
+                .verifyError(InvalidQueryException.class);
+    }
+
+    @Test
+    public void given_isbns_shouldReturnFoundAndMissing() {
+        StepVerifier.create(bookService.findBooksByIsbns(List.of("113-234-342", "non_existant_isbn", "111-234-340")))
+                .assertNext(lookup -> {
+                    assertEquals(List.of("113-234-342", "111-234-340"), lookup.getFound().stream().map(Book::getIsbn).toList());
+                    assertEquals(List.of("non_existant_isbn"), lookup.getMissing());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_ascendingOrder_shouldReturnBooksSortedByTitle() {
+        List<String> expectedTitles = getBooks().stream().map(Book::getTitle).sorted(Comparator.naturalOrder()).toList();
+        StepVerifier.create(bookService.findBooksOrderedByTitle(Order.ASC).map(Book::getTitle).collectList())
+                .expectNext(expectedTitles)
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_newBooks_shouldCreateThemInBulk() {
+        Flux<Book> books = Flux.just(
+                new Book("new title", "200-000-001", List.of("author@gmail.com"), "a good book"),
+                new Book("no isbn", null, List.of("author@gmail.com"), "a good book"));
+        StepVerifier.create(bookService.createBooks(books))
+                .assertNext(result -> {
+                    assertEquals(1, result.getCreated());
+                    assertEquals(List.of(1L), result.getErrors().stream().map(error -> error.getIndex()).toList());
+                })
+                .verifyComplete();
+        assertEquals(6, bookRepository.count());
+    }
+
+    private static List<Book> getBooks() {
+        return List.of(
+                new Book("a title", "111-234-340", List.of("author1@library.com", "autho2@libraray.com"), "a good book"),
+                new Book("z title", "112-234-341", List.of("author3@library.com", "autho2@libraray.com"), "a good book"),
+                new Book("o title", "113-234-342", List.of("author2@library.com", "autho5@libraray.com"), "a good book"),
+                new Book("c title", "114-234-343", List.of("author4@library.com", "autho6@libraray.com"), "a good book"),
+                new Book("x title", "116-234-344", List.of("author7@library.com", "autho8@libraray.com"), "a good book")
+        );
+    }
+}
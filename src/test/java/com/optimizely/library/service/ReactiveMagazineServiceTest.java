@@ -0,0 +1,130 @@
+package com.optimizely.library.service;
+
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.repository.MagazineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+public class ReactiveMagazineServiceTest {
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:4.4.2");
+
+    {
+        mongoDBContainer.start();
+    }
+
+    @Autowired
+    private MagazineRepository magazineRepository;
+
+    @Autowired
+    private ReactiveMagazineService magazineService;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    public void beforeEachTest() {
+        magazineRepository.deleteAll();
+        magazineRepository.insert(getMagazines());
+    }
+
+    @Test
+    public void shouldStreamPrePopulatedMagazines() {
+        StepVerifier.create(magazineService.findAllMagazines().map(Magazine::getIsbn).collectList())
+                .expectNext(magazineRepository.findAll().stream().map(Magazine::getIsbn).toList())
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_existingIsbn_shouldReturnMagazineByIsbn() {
+        StepVerifier.create(magazineService.findMagazineByIsbn("113-234-342"))
+                .expectNextMatches(magazine -> magazine.getIsbn().equals("113-234-342"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_nonExistingIsbn_shouldComplete() {
+        StepVerifier.create(magazineService.findMagazineByIsbn("non_existant_isbn"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldPageThroughMagazinesOrderedByIsbn() {
+        StepVerifier.create(magazineService.findMagazines(null, 3))
+                .assertNext(page -> assertEquals(List.of("111-234-340", "112-234-341", "113-234-342"), page.getItems().stream().map(Magazine::getIsbn).toList()))
+                .verifyComplete();
+        StepVerifier.create(magazineService.findMagazines(Pagination.encode("113-234-342"), 3))
+                .assertNext(page -> {
+                    assertEquals(List.of("114-234-343", "116-234-344"), page.getItems().stream().map(Magazine::getIsbn).toList());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_invalidLimit_shouldFailWithInvalidQuery() {
+        StepVerifier.create(magazineService.findMagazines(null, 0))
+                .verifyError(InvalidQueryException.class);
+    }
+
+    @Test
+    public void given_isbns_shouldReturnFoundAndMissing() {
+        StepVerifier.create(magazineService.findMagazinesByIsbns(List.of("113-234-342", "non_existant_isbn", "111-234-340")))
+                .assertNext(lookup -> {
+                    assertEquals(List.of("113-234-342", "111-234-340"), lookup.getFound().stream().map(Magazine::getIsbn).toList());
+                    assertEquals(List.of("non_existant_isbn"), lookup.getMissing());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_ascendingOrder_shouldReturnMagazinesSortedByTitle() {
+        List<String> expectedTitles = getMagazines().stream().map(Magazine::getTitle).sorted(Comparator.naturalOrder()).toList();
+        StepVerifier.create(magazineService.findMagazinesOrderedByTitle(Order.ASC).map(Magazine::getTitle).collectList())
+                .expectNext(expectedTitles)
+                .verifyComplete();
+    }
+
+    @Test
+    public void given_newMagazines_shouldCreateThemInBulk() {
+        Flux<Magazine> magazines = Flux.just(
+                new Magazine("new title", "200-000-001", List.of("author@gmail.com"), "01-01-2022"),
+                new Magazine("no isbn", null, List.of("author@gmail.com"), "01-01-2022"));
+        StepVerifier.create(magazineService.createMagazines(magazines))
+                .assertNext(result -> {
+                    assertEquals(1, result.getCreated());
+                    assertEquals(List.of(1L), result.getErrors().stream().map(error -> error.getIndex()).toList());
+                })
+                .verifyComplete();
+        assertEquals(6, magazineRepository.count());
+    }
+
+    private static List<Magazine> getMagazines() {
+        return List.of(
+                new Magazine("a title", "111-234-340", List.of("author1@library.com", "autho2@libraray.com"), "01-01-2022"),
+                new Magazine("z title", "112-234-341", List.of("author3@library.com", "autho2@libraray.com"), "01-01-2022"),
+                new Magazine("o title", "113-234-342", List.of("author2@library.com", "autho5@libraray.com"), "01-01-2022"),
+                new Magazine("c title", "114-234-343", List.of("author4@library.com", "autho6@libraray.com"), "01-01-2022"),
+                new Magazine("x title", "116-234-344", List.of("author7@library.com", "autho8@libraray.com"), "01-01-2022")
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package com.optimizely.library.service.impl;
+
+import com.optimizely.library.model.Book;
+import com.optimizely.library.model.CatalogueItem;
+import com.optimizely.library.model.Magazine;
+import com.optimizely.library.model.Order;
+import com.optimizely.library.repository.BookRepository;
+import com.optimizely.library.repository.MagazineRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the search against mocked repositories, which return each collection in the order Mongo would.
+ */
+public class CatalogueServiceImplTest {
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final MagazineRepository magazineRepository = mock(MagazineRepository.class);
+    private final CatalogueServiceImpl catalogueService = new CatalogueServiceImpl(bookRepository, magazineRepository, 2, 4);
+
+    @Test
+    public void shouldQueryBothCollectionsOnTheSearchPool() {
+        //given
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(bookRepository.findByAuthorsContaining(eq("author1@library.com"), any(), any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of(new Book("Zebra", "111-234-340", List.of("author1@library.com"), "a good book"));
+        });
+        when(magazineRepository.findByAuthorsContaining(eq("author1@library.com"), any(), any())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of(new Magazine("Birnen", "211-234-340", List.of("author1@library.com"), "01-01-2022"));
+        });
+
+        //when
+        List<CatalogueItem> items = catalogueService.findByAuthor("author1@library.com", Order.ASC, 0, 20);
+
+        //then
+        assertEquals(List.of("Birnen", "Zebra"), items.stream().map(CatalogueItem::getTitle).toList());
+        assertTrue(threads.stream().allMatch(thread -> thread.startsWith("catalogue-search-")), threads.toString());
+    }
+
+    @Test
+    public void shouldKeepTheOrderOfEachCollection() {
+        //given
+        // the order Mongo returned, which the JDK collator alone would not reproduce
+        books(book("Zebra", "111-234-340"), book("Äpfel", "112-234-341"));
+        magazines(magazine("Birnen", "211-234-340"), magazine("Pflaumen", "212-234-341"));
+
+        //when
+        List<CatalogueItem> items = catalogueService.findByAuthor("author1@library.com", Order.ASC, 0, 20);
+
+        //then
+        assertEquals(List.of("Birnen", "Pflaumen", "Zebra", "Äpfel"), items.stream().map(CatalogueItem::getTitle).toList());
+    }
+
+    @Test
+    public void shouldSortMissingTitlesLikeMongo() {
+        //given
+        books(book(null, "111-234-340"), book("Zebra", "112-234-341"));
+        magazines(magazine("Birnen", "211-234-340"));
+
+        //when
+        List<CatalogueItem> ascending = catalogueService.findByAuthor("author1@library.com", Order.ASC, 0, 20);
+        books(book("Zebra", "112-234-341"), book(null, "111-234-340"));
+        List<CatalogueItem> descending = catalogueService.findByAuthor("author1@library.com", Order.DESC, 0, 20);
+
+        //then
+        assertEquals(Arrays.asList(null, "Birnen", "Zebra"), ascending.stream().map(CatalogueItem::getTitle).toList());
+        assertEquals(Arrays.asList("Zebra", "Birnen", null), descending.stream().map(CatalogueItem::getTitle).toList());
+    }
+
+    @Test
+    public void shouldPageThroughTheMergedList() {
+        //given
+        books(book("Äpfel", "111-234-340"), book("Kirschen", "112-234-341"), book("Zebra", "113-234-342"));
+        magazines(magazine("Birnen", "211-234-340"), magazine("Pflaumen", "212-234-341"));
+
+        //when
+        List<CatalogueItem> first = catalogueService.findByAuthor("author1@library.com", Order.ASC, 0, 2);
+        List<CatalogueItem> second = catalogueService.findByAuthor("author1@library.com", Order.ASC, 1, 2);
+
+        //then
+        assertEquals(List.of("Äpfel", "Birnen"), first.stream().map(CatalogueItem::getTitle).toList());
+        assertEquals(List.of("Kirschen", "Pflaumen"), second.stream().map(CatalogueItem::getTitle).toList());
+    }
+
+    private void books(Book... books) {
+        when(bookRepository.findByAuthorsContaining(eq("author1@library.com"), any(), any()))
+                .thenAnswer(invocation -> Arrays.asList(books).subList(0, Math.min(books.length, invocation.<Pageable>getArgument(1).getPageSize())));
+    }
+
+    private void magazines(Magazine... magazines) {
+        when(magazineRepository.findByAuthorsContaining(eq("author1@library.com"), any(), any()))
+                .thenAnswer(invocation -> Arrays.asList(magazines).subList(0, Math.min(magazines.length, invocation.<Pageable>getArgument(1).getPageSize())));
+    }
+
+    private static Book book(String title, String isbn) {
+        return new Book(title, isbn, List.of("author1@library.com"), "a good book");
+    }
+
+    private static Magazine magazine(String title, String isbn) {
+        return new Magazine(title, isbn, List.of("author1@library.com"), "01-01-2022");
+    }
+}